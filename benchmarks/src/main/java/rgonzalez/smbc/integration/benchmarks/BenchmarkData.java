@@ -0,0 +1,64 @@
+package rgonzalez.smbc.integration.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import rgonzalez.smbc.integration.model.BusinessEvent;
+import rgonzalez.smbc.integration.model.SsnVerificationResult;
+
+import java.time.LocalDateTime;
+
+/**
+ * Representative messages shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    static final String CONTACT_ID = "5f1c2a9e-3b7d-4c61-9a0e-7d2f4b8c1e35";
+
+    static final String CONTACT_PAYLOAD = "{\"id\":1042,\"name\":\"Ada Lovelace\",\"ssn\":\"123-45-6789\","
+            + "\"firstName\":\"Ada\",\"lastName\":\"Lovelace\",\"middleInitial\":\"K\","
+            + "\"createdBy\":\"contacts-api\",\"createdTimestamp\":\"2024-03-01T10:15:30\","
+            + "\"updatedBy\":\"contacts-api\",\"updatedTimestamp\":\"2024-03-01T10:15:30\"}";
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * ContactCreated event as published by contacts-api.
+     */
+    static BusinessEvent contactCreatedEvent() {
+        BusinessEvent event = new BusinessEvent("0b8e6a4f-2d1c-4e7a-8f3b-9c5d1a2e6f70", CONTACT_ID, "Contact",
+                "ContactCreated", CONTACT_PAYLOAD, "contact.v2", "c7a1e9d3-5b2f-4a68-9e0c-3f7b2d8a1c46",
+                BusinessEvent.EventDirection.OUTBOUND);
+        event.setId(98_765L);
+        event.setCreatedBy("contacts-api");
+        event.setCreatedTimestamp(LocalDateTime.of(2024, 3, 1, 10, 15, 30));
+        event.setUpdatedBy("contacts-api");
+        event.setUpdatedTimestamp(LocalDateTime.of(2024, 3, 1, 10, 15, 30));
+        return event;
+    }
+
+    /**
+     * JSON of {@link #contactCreatedEvent()} as it arrives on the contacts topic.
+     */
+    static byte[] contactCreatedEventJson() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        try {
+            return objectMapper.writeValueAsBytes(contactCreatedEvent());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Persisted verification result as published to customer-ssn-verified.
+     */
+    static SsnVerificationResult verificationResult() {
+        SsnVerificationResult result = new SsnVerificationResult(CONTACT_ID, "123-45-6789", "Ada", "Lovelace",
+                "VERIFIED", true, "SSN matches the provided name", "KafkaEventHandler", 1_709_288_130_000L);
+        result.setId(4_321L);
+        result.setCreatedTimestamp(LocalDateTime.of(2024, 3, 1, 10, 15, 35));
+        return result;
+    }
+}
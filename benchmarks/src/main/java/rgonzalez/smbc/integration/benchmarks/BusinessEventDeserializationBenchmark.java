@@ -0,0 +1,58 @@
+package rgonzalez.smbc.integration.benchmarks;
+
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.serializer.JacksonJsonDeserializer;
+
+import rgonzalez.smbc.integration.config.KafkaConfig;
+import rgonzalez.smbc.integration.model.BusinessEvent;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserialization of a ContactCreated {@link BusinessEvent} by the
+ * {@link JacksonJsonDeserializer} configured as in the contacts consumer factory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BusinessEventDeserializationBenchmark {
+
+    private JacksonJsonDeserializer<BusinessEvent> deserializer;
+    private byte[] message;
+
+    @Setup
+    public void setUp() {
+        deserializer = new JacksonJsonDeserializer<>();
+        deserializer.configure(Map.of(
+                JacksonJsonDeserializer.TRUSTED_PACKAGES, "*",
+                JacksonJsonDeserializer.USE_TYPE_INFO_HEADERS, false,
+                JacksonJsonDeserializer.VALUE_DEFAULT_TYPE, BusinessEvent.class.getName()), false);
+        message = BenchmarkData.contactCreatedEventJson();
+    }
+
+    @TearDown
+    public void tearDown() {
+        deserializer.close();
+    }
+
+    @Benchmark
+    public BusinessEvent deserialize() {
+        // The listener container always passes the record headers
+        return deserializer.deserialize(KafkaConfig.CONTACTS_TOPIC, new RecordHeaders(), message);
+    }
+}
@@ -0,0 +1,56 @@
+package rgonzalez.smbc.integration.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import rgonzalez.smbc.integration.model.BusinessEvent;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link BusinessEvent#toString()}, which renders the decoded payload,
+ * and of logging an event at a disabled debug level with a placeholder versus
+ * eager string concatenation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BusinessEventLoggingBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(BusinessEventLoggingBenchmark.class);
+
+    private BusinessEvent event;
+
+    @Setup
+    public void setUp() {
+        event = BenchmarkData.contactCreatedEvent();
+    }
+
+    @Benchmark
+    public String eventToString() {
+        return event.toString();
+    }
+
+    @Benchmark
+    public void disabledDebugWithPlaceholder() {
+        logger.debug("Received business event: {}", event);
+    }
+
+    @Benchmark
+    public void disabledDebugWithConcatenation() {
+        logger.debug("Received business event: " + event);
+    }
+}
@@ -0,0 +1,47 @@
+package rgonzalez.smbc.integration.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import rgonzalez.smbc.integration.kafka.schema.EventSchemaRegistry;
+import rgonzalez.smbc.integration.model.BusinessEvent;
+import rgonzalez.smbc.integration.model.Contact;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse of the {@link Contact} payload of a ContactCreated event, as done by
+ * the ContactCreated handler before verifying the SSN.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContactPayloadBenchmark {
+
+    private EventSchemaRegistry eventSchemaRegistry;
+    private BusinessEvent event;
+
+    @Setup
+    public void setUp() {
+        eventSchemaRegistry = new EventSchemaRegistry(List.of());
+        event = BenchmarkData.contactCreatedEvent();
+    }
+
+    @Benchmark
+    public Contact readContact() throws IOException {
+        return eventSchemaRegistry.read(event, Contact.class);
+    }
+}
@@ -0,0 +1,51 @@
+package rgonzalez.smbc.integration.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import rgonzalez.smbc.integration.service.SsnFormat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * SSN format check: the character scan of {@link SsnFormat} against the
+ * precompiled regex it replaced and a per-call {@link String#matches}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SsnValidationBenchmark {
+
+    private static final String SSN_REGEX = "^\\d{3}-\\d{2}-\\d{4}$";
+    private static final Pattern SSN_PATTERN = Pattern.compile(SSN_REGEX);
+
+    @Param({ "123-45-6789", "123456789", "123-45-678x" })
+    public String ssn;
+
+    @Benchmark
+    public boolean characterScan() {
+        return SsnFormat.isValid(ssn);
+    }
+
+    @Benchmark
+    public boolean precompiledRegex() {
+        return SSN_PATTERN.matcher(ssn).matches();
+    }
+
+    @Benchmark
+    public boolean stringMatches() {
+        return ssn.matches(SSN_REGEX);
+    }
+}
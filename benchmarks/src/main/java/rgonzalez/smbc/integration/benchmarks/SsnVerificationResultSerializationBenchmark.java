@@ -0,0 +1,67 @@
+package rgonzalez.smbc.integration.benchmarks;
+
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.serializer.JacksonJsonSerializer;
+
+import rgonzalez.smbc.integration.config.KafkaConfig;
+import rgonzalez.smbc.integration.model.SsnVerificationResult;
+import rgonzalez.smbc.integration.model.SsnVerificationResultSummary;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of the verification outcome by the {@link JacksonJsonSerializer}
+ * configured as in the producer factories: the full result for
+ * customer-ssn-verified and the summary for customer-ssn-verified-latest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SsnVerificationResultSerializationBenchmark {
+
+    private JacksonJsonSerializer<SsnVerificationResult> resultSerializer;
+    private JacksonJsonSerializer<SsnVerificationResultSummary> summarySerializer;
+    private SsnVerificationResult result;
+    private SsnVerificationResultSummary summary;
+
+    @Setup
+    public void setUp() {
+        resultSerializer = new JacksonJsonSerializer<SsnVerificationResult>(KafkaConfig.producerJsonMapper())
+                .noTypeInfo();
+        summarySerializer = new JacksonJsonSerializer<SsnVerificationResultSummary>(
+                KafkaConfig.producerJsonMapper()).noTypeInfo();
+        result = BenchmarkData.verificationResult();
+        summary = SsnVerificationResultSummary.of(result);
+    }
+
+    @TearDown
+    public void tearDown() {
+        resultSerializer.close();
+        summarySerializer.close();
+    }
+
+    @Benchmark
+    public byte[] serializeResult() {
+        return resultSerializer.serialize(KafkaConfig.CUSTOMER_SSN_VERIFIED_TOPIC, new RecordHeaders(), result);
+    }
+
+    @Benchmark
+    public byte[] serializeSummary() {
+        return summarySerializer.serialize(KafkaConfig.CUSTOMER_SSN_VERIFIED_LATEST_TOPIC, new RecordHeaders(),
+                summary);
+    }
+}
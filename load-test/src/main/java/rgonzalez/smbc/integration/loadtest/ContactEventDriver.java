@@ -0,0 +1,183 @@
+package rgonzalez.smbc.integration.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import rgonzalez.smbc.integration.config.KafkaConfig;
+import rgonzalez.smbc.integration.model.BusinessEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Publishes ContactCreated, ContactUpdated and ContactDeleted events to the
+ * contacts topic at a fixed rate, in the shape contacts-api sends them.
+ * Events are scheduled on a fixed timeline and each created contact is
+ * registered with its intended send time, so a stalled producer or broker shows
+ * up as latency instead of silently lowering the offered load.
+ */
+final class ContactEventDriver implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContactEventDriver.class);
+
+    private final KafkaProducer<String, byte[]> producer;
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final VerificationLatencyRecorder latencyRecorder;
+    private final ContactEventType[] schedule;
+    private final List<String> liveContacts = new ArrayList<>();
+    private final LongAdder produced = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    ContactEventDriver(String bootstrapServers, Map<ContactEventType, Integer> mix,
+            VerificationLatencyRecorder latencyRecorder) {
+        this.producer = new KafkaProducer<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ProducerConfig.ACKS_CONFIG, "all",
+                ProducerConfig.LINGER_MS_CONFIG, 5),
+                new StringSerializer(), new ByteArraySerializer());
+        this.latencyRecorder = latencyRecorder;
+        this.schedule = schedule(mix);
+    }
+
+    /**
+     * Driver for {@link #publishCreated()} only, without a schedule or latency
+     * recorder.
+     */
+    ContactEventDriver(String bootstrapServers) {
+        this(bootstrapServers, Map.of(ContactEventType.CREATED, 1), null);
+    }
+
+    /**
+     * Produce events at the given rate until the deadline.
+     *
+     * @param rate           events per second
+     * @param deadlineNanos  {@link System#nanoTime()} at which to stop
+     */
+    void run(double rate, long deadlineNanos) {
+        long intervalNanos = (long) (1_000_000_000L / rate);
+        long start = System.nanoTime();
+        for (long i = 0;; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended - deadlineNanos >= 0) {
+                return;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(schedule[(int) (i % schedule.length)], intended);
+        }
+    }
+
+    /**
+     * Publish a single ContactCreated event outside the schedule and wait until
+     * the broker has it. The contact is not registered for latency measurement.
+     */
+    void publishCreated() throws InterruptedException, ExecutionException {
+        String contactId = UUID.randomUUID().toString();
+        producer.send(new ProducerRecord<>(KafkaConfig.CONTACTS_TOPIC, contactId,
+                event(ContactEventType.CREATED, contactId))).get();
+        produced.increment();
+    }
+
+    private void send(ContactEventType type, long intendedNanos) {
+        String contactId;
+        if (type == ContactEventType.CREATED || liveContacts.isEmpty()) {
+            type = ContactEventType.CREATED;
+            contactId = UUID.randomUUID().toString();
+            liveContacts.add(contactId);
+            latencyRecorder.expect(contactId, intendedNanos);
+        } else if (type == ContactEventType.UPDATED) {
+            contactId = liveContacts.get(ThreadLocalRandom.current().nextInt(liveContacts.size()));
+        } else {
+            contactId = liveContacts.remove(ThreadLocalRandom.current().nextInt(liveContacts.size()));
+        }
+
+        producer.send(new ProducerRecord<>(KafkaConfig.CONTACTS_TOPIC, contactId, event(type, contactId)),
+                (metadata, exception) -> {
+                    if (exception != null) {
+                        failed.increment();
+                        logger.warn("Failed to publish event for contact [{}]: {}", contactId,
+                                exception.getMessage());
+                    }
+                });
+        produced.increment();
+    }
+
+    private byte[] event(ContactEventType type, String contactId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        ObjectNode contact = objectMapper.createObjectNode()
+                .put("ssn", String.format("%03d-%02d-%04d", random.nextInt(1, 900), random.nextInt(1, 100),
+                        random.nextInt(1, 10_000)))
+                .put("firstName", "Load")
+                .put("lastName", "Test " + contactId.substring(0, 8))
+                .put("createdBy", "load-test")
+                .put("updatedBy", "load-test");
+        contact.put("name", contact.get("firstName").asText() + " " + contact.get("lastName").asText());
+
+        BusinessEvent event = new BusinessEvent(UUID.randomUUID().toString(), contactId, "Contact",
+                type.eventName(), contact.toString(), "contact.v2", UUID.randomUUID().toString(),
+                BusinessEvent.EventDirection.OUTBOUND);
+        event.setCreatedBy("load-test");
+        event.setCreatedTimestamp(now);
+        event.setUpdatedBy("load-test");
+        event.setUpdatedTimestamp(now);
+        try {
+            return objectMapper.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    long produced() {
+        return produced.sum();
+    }
+
+    long failed() {
+        return failed.sum();
+    }
+
+    @Override
+    public void close() {
+        producer.close();
+    }
+
+    /**
+     * Spread the event types over a repeating schedule following the mix
+     * weights, so the mix holds over any window of a few dozen events.
+     */
+    private static ContactEventType[] schedule(Map<ContactEventType, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        ContactEventType[] schedule = new ContactEventType[total];
+        double[] credit = new double[ContactEventType.values().length];
+        for (int slot = 0; slot < total; slot++) {
+            ContactEventType next = null;
+            for (ContactEventType type : mix.keySet()) {
+                credit[type.ordinal()] += (double) mix.get(type) / total;
+                if (next == null || credit[type.ordinal()] > credit[next.ordinal()]) {
+                    next = type;
+                }
+            }
+            credit[next.ordinal()] -= 1;
+            schedule[slot] = next;
+        }
+        return schedule;
+    }
+}
@@ -0,0 +1,21 @@
+package rgonzalez.smbc.integration.loadtest;
+
+/**
+ * Contact events published by contacts-api.
+ */
+enum ContactEventType {
+
+    CREATED("ContactCreated"),
+    UPDATED("ContactUpdated"),
+    DELETED("ContactDeleted");
+
+    private final String eventName;
+
+    ContactEventType(String eventName) {
+        this.eventName = eventName;
+    }
+
+    String eventName() {
+        return eventName;
+    }
+}
@@ -0,0 +1,72 @@
+package rgonzalez.smbc.integration.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import rgonzalez.smbc.integration.config.KafkaConfig;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Embedded Kafka broker with the service topics and a local PostgreSQL, both
+ * running in this JVM, for the service to run against.
+ */
+final class EmbeddedInfrastructure implements AutoCloseable {
+
+    private final EmbeddedKafkaKraftBroker broker;
+    private final EmbeddedPostgres postgres;
+
+    private EmbeddedInfrastructure(EmbeddedKafkaKraftBroker broker, EmbeddedPostgres postgres) {
+        this.broker = broker;
+        this.postgres = postgres;
+    }
+
+    static EmbeddedInfrastructure start() throws IOException {
+        EmbeddedKafkaKraftBroker broker = new EmbeddedKafkaKraftBroker(1, KafkaConfig.DEFAULT_PARTITIONS,
+                KafkaConfig.CONTACTS_TOPIC, KafkaConfig.CUSTOMER_VERIFICATIONS_TOPIC,
+                KafkaConfig.CUSTOMER_SSN_VERIFIED_TOPIC);
+        broker.afterPropertiesSet();
+        try {
+            broker.addTopics(TopicBuilder.name(KafkaConfig.CUSTOMER_SSN_VERIFIED_LATEST_TOPIC)
+                    .partitions(KafkaConfig.DEFAULT_PARTITIONS)
+                    .compact()
+                    .build());
+            return new EmbeddedInfrastructure(broker, EmbeddedPostgres.builder().start());
+        } catch (IOException | RuntimeException e) {
+            broker.destroy();
+            throw e;
+        }
+    }
+
+    String bootstrapServers() {
+        return broker.getBrokersAsString();
+    }
+
+    String jdbcUrl() {
+        return postgres.getJdbcUrl("postgres", "postgres");
+    }
+
+    /**
+     * @return arguments pointing the service at the broker and the database
+     */
+    List<String> connectionArguments() {
+        return List.of(
+                "--spring.datasource.url=" + jdbcUrl(),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--spring.kafka.bootstrap-servers=" + bootstrapServers(),
+                "--spring.kafka.consumer.bootstrap-servers=" + bootstrapServers(),
+                "--spring.kafka.admin.properties.bootstrap.servers=" + bootstrapServers());
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            postgres.close();
+        } finally {
+            broker.destroy();
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package rgonzalez.smbc.integration.loadtest;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.PhysicalNamingStrategySnakeCaseImpl;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.HibernatePersistenceConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.hibernate.SpringImplicitNamingStrategy;
+
+import rgonzalez.smbc.integration.model.BusinessEvent;
+import rgonzalez.smbc.integration.model.SsnVerificationResult;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.DoubleStream;
+
+/**
+ * Insert throughput of business events and verification results through
+ * Hibernate against a local PostgreSQL with the schema migrated.
+ * Compares two ways of generating ids:
+ * <ul>
+ * <li>{@code identity}: ids assigned by the database and read back per row,
+ * as with the IDENTITY columns the entities used before, so every insert is a
+ * statement of its own</li>
+ * <li>{@code pooled-lo}: the current mapping and profile settings, with ids
+ * allocated from the sequences in blocks of 50 and inserts sent in JDBC
+ * batches, which the driver rewrites into multi-row inserts</li>
+ * </ul>
+ * Business events are saved in transactions of {@code --transaction-size},
+ * like the audit writer's group commits, and verification results one per
+ * transaction, like each verification saves its own.
+ * See {@link InsertThroughputOptions} for the arguments.
+ */
+public final class InsertThroughputBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(InsertThroughputBenchmark.class);
+
+    private static final String PAYLOAD = "{\"ssn\":\"123-45-6789\",\"firstName\":\"Insert\","
+            + "\"lastName\":\"Benchmark\",\"name\":\"Insert Benchmark\",\"createdBy\":\"insert-benchmark\","
+            + "\"updatedBy\":\"insert-benchmark\"}";
+
+    private InsertThroughputBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        InsertThroughputOptions options = InsertThroughputOptions.parse(args);
+        Files.createDirectories(options.output());
+
+        List<Run> measured = new ArrayList<>();
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            String jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+            Flyway.configure()
+                    .dataSource(jdbcUrl, "postgres", "postgres")
+                    .schemas("integration")
+                    .load()
+                    .migrate();
+
+            for (Scenario scenario : Scenario.values()) {
+                try (HikariDataSource dataSource = scenario.dataSource(jdbcUrl);
+                        SessionFactory sessionFactory = scenario.sessionFactory(dataSource)) {
+                    scenario.prepareSchema(dataSource);
+                    for (int i = 0; i < options.warmupRuns() + options.runs(); i++) {
+                        boolean warmup = i < options.warmupRuns();
+                        Run run = run(options, scenario, dataSource, sessionFactory);
+                        logger.info("{} {}: {} events/s, {} results/s", scenario.label,
+                                warmup ? "warmup-" + (i + 1) : "run-" + (i - options.warmupRuns() + 1),
+                                String.format("%.0f", run.eventsPerSecond()),
+                                String.format("%.0f", run.resultsPerSecond()));
+                        if (!warmup) {
+                            measured.add(run);
+                        }
+                    }
+                }
+            }
+        }
+        report(options, measured);
+    }
+
+    private static Run run(InsertThroughputOptions options, Scenario scenario, HikariDataSource dataSource,
+            SessionFactory sessionFactory) throws SQLException {
+        execute(dataSource, "TRUNCATE integration.business_events, integration.ssn_verification_results");
+
+        long start = System.nanoTime();
+        for (int saved = 0; saved < options.events(); saved += options.transactionSize()) {
+            int count = Math.min(options.transactionSize(), options.events() - saved);
+            sessionFactory.inTransaction(session -> {
+                for (int i = 0; i < count; i++) {
+                    session.persist(event());
+                }
+            });
+        }
+        long eventsNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < options.results(); i++) {
+            sessionFactory.inTransaction(session -> session.persist(result()));
+        }
+        long resultsNanos = System.nanoTime() - start;
+
+        long events = count(dataSource, "integration.business_events");
+        long results = count(dataSource, "integration.ssn_verification_results");
+        if (events != options.events() || results != options.results()) {
+            throw new IllegalStateException("Expected " + options.events() + " events and " + options.results()
+                    + " results but found " + events + " and " + results);
+        }
+        return new Run(scenario, events * 1e9 / eventsNanos, results * 1e9 / resultsNanos);
+    }
+
+    private static BusinessEvent event() {
+        String contactId = UUID.randomUUID().toString();
+        BusinessEvent event = new BusinessEvent(UUID.randomUUID().toString(), contactId, "Contact",
+                "ContactCreated", PAYLOAD, "contact.v2", UUID.randomUUID().toString(),
+                BusinessEvent.EventDirection.INBOUND);
+        event.setCreatedBy("insert-benchmark");
+        event.setUpdatedBy("insert-benchmark");
+        event.setUpdatedTimestamp(LocalDateTime.now());
+        return event;
+    }
+
+    private static SsnVerificationResult result() {
+        return new SsnVerificationResult(UUID.randomUUID().toString(), "123-45-6789", "Insert", "Benchmark",
+                "VERIFIED", true, "SSN matches the provided name", "KafkaEventHandler",
+                System.currentTimeMillis());
+    }
+
+    private static void report(InsertThroughputOptions options, List<Run> runs) throws IOException {
+        Path results = options.output().resolve("insert-throughput.csv");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(results))) {
+            out.println("scenario,events_per_s,results_per_s");
+            for (Run run : runs) {
+                out.printf("%s,%.0f,%.0f%n", run.scenario().label, run.eventsPerSecond(), run.resultsPerSecond());
+            }
+        }
+        for (Scenario scenario : Scenario.values()) {
+            List<Run> scenarioRuns = runs.stream().filter(run -> run.scenario() == scenario).toList();
+            logger.info("{} over {} run(s): median {} events/s in transactions of {}, median {} results/s",
+                    scenario.label, scenarioRuns.size(),
+                    String.format("%.0f", median(scenarioRuns.stream().mapToDouble(Run::eventsPerSecond))),
+                    options.transactionSize(),
+                    String.format("%.0f", median(scenarioRuns.stream().mapToDouble(Run::resultsPerSecond))));
+        }
+        logger.info("Results written to {}", results.toAbsolutePath());
+    }
+
+    private static double median(DoubleStream values) {
+        double[] sorted = values.sorted().toArray();
+        return sorted[sorted.length / 2];
+    }
+
+    private static void execute(HikariDataSource dataSource, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static long count(HikariDataSource dataSource, String table) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT count(*) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private enum Scenario {
+
+        /**
+         * The mapping before sequence ids: identity-ids.orm.xml switches both
+         * entities back to IDENTITY, and the ids come from a column default on
+         * the same sequences, as an identity column draws them.
+         */
+        IDENTITY("identity", Map.of(), false) {
+            @Override
+            void prepareSchema(HikariDataSource dataSource) throws SQLException {
+                execute(dataSource, "ALTER TABLE integration.business_events ALTER COLUMN id"
+                        + " SET DEFAULT nextval('integration.business_events_seq')");
+                execute(dataSource, "ALTER TABLE integration.ssn_verification_results ALTER COLUMN id"
+                        + " SET DEFAULT nextval('integration.ssn_verification_results_seq')");
+            }
+        },
+
+        /**
+         * The current mapping with the Hibernate and driver settings of the
+         * local and mix profiles.
+         */
+        POOLED_LO("pooled-lo", Map.of(
+                "hibernate.id.optimizer.pooled.preferred", "pooled-lo",
+                AvailableSettings.STATEMENT_BATCH_SIZE, 50,
+                AvailableSettings.ORDER_INSERTS, true,
+                AvailableSettings.ORDER_UPDATES, true), true) {
+            @Override
+            void prepareSchema(HikariDataSource dataSource) throws SQLException {
+                execute(dataSource, "ALTER TABLE integration.business_events ALTER COLUMN id DROP DEFAULT");
+                execute(dataSource, "ALTER TABLE integration.ssn_verification_results ALTER COLUMN id DROP DEFAULT");
+            }
+        };
+
+        private final String label;
+        private final Map<String, Object> hibernateSettings;
+        private final boolean reWriteBatchedInserts;
+
+        Scenario(String label, Map<String, Object> hibernateSettings, boolean reWriteBatchedInserts) {
+            this.label = label;
+            this.hibernateSettings = hibernateSettings;
+            this.reWriteBatchedInserts = reWriteBatchedInserts;
+        }
+
+        abstract void prepareSchema(HikariDataSource dataSource) throws SQLException;
+
+        HikariDataSource dataSource(String jdbcUrl) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("insert-benchmark-" + label);
+            dataSource.setJdbcUrl(jdbcUrl);
+            dataSource.setUsername("postgres");
+            dataSource.setPassword("postgres");
+            dataSource.setMaximumPoolSize(2);
+            dataSource.addDataSourceProperty("reWriteBatchedInserts", reWriteBatchedInserts);
+            return dataSource;
+        }
+
+        SessionFactory sessionFactory(HikariDataSource dataSource) {
+            HibernatePersistenceConfiguration configuration = new HibernatePersistenceConfiguration(
+                    "insert-benchmark-" + label)
+                    .managedClasses(BusinessEvent.class, SsnVerificationResult.class)
+                    .property(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, dataSource)
+                    // Column names as Spring Boot derives them
+                    .property(AvailableSettings.PHYSICAL_NAMING_STRATEGY,
+                            PhysicalNamingStrategySnakeCaseImpl.class.getName())
+                    .property(AvailableSettings.IMPLICIT_NAMING_STRATEGY,
+                            SpringImplicitNamingStrategy.class.getName())
+                    // Measure the inserts alone, without populating the result cache
+                    .property(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+            if (this == IDENTITY) {
+                configuration.mappingFile("identity-ids.orm.xml");
+            }
+            hibernateSettings.forEach(configuration::property);
+            return configuration.createEntityManagerFactory();
+        }
+    }
+
+    /**
+     * Throughput of one measured run.
+     */
+    private record Run(Scenario scenario, double eventsPerSecond, double resultsPerSecond) {
+    }
+}
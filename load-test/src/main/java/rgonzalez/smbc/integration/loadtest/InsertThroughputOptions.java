@@ -0,0 +1,61 @@
+package rgonzalez.smbc.integration.loadtest;
+
+import java.nio.file.Path;
+
+/**
+ * Insert throughput benchmark options, given as {@code --name=value}
+ * arguments:
+ * <ul>
+ * <li>{@code --events}: business events inserted per measured run (50000)</li>
+ * <li>{@code --results}: verification results inserted per measured run
+ * (10000)</li>
+ * <li>{@code --transaction-size}: business events saved per transaction, like
+ * the audit writer's integration.audit.batch-size (100)</li>
+ * <li>{@code --warmup-runs}: runs of each scenario before measuring (1)</li>
+ * <li>{@code --runs}: measured runs of each scenario (3)</li>
+ * <li>{@code --output}: directory for the results
+ * (target/insert-throughput)</li>
+ * </ul>
+ */
+record InsertThroughputOptions(
+        int events,
+        int results,
+        int transactionSize,
+        int warmupRuns,
+        int runs,
+        Path output) {
+
+    static InsertThroughputOptions parse(String[] args) {
+        int events = 50_000;
+        int results = 10_000;
+        int transactionSize = 100;
+        int warmupRuns = 1;
+        int runs = 3;
+        Path output = Path.of("target", "insert-throughput");
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got [" + arg + "]");
+            }
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            switch (name) {
+                case "events" -> events = Integer.parseInt(value);
+                case "results" -> results = Integer.parseInt(value);
+                case "transaction-size" -> transactionSize = Integer.parseInt(value);
+                case "warmup-runs" -> warmupRuns = Integer.parseInt(value);
+                case "runs" -> runs = Integer.parseInt(value);
+                case "output" -> output = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option [" + name + "]");
+            }
+        }
+        if (events <= 0 || results <= 0 || transactionSize <= 0) {
+            throw new IllegalArgumentException("Expected positive event, result and transaction counts");
+        }
+        if (runs <= 0 || warmupRuns < 0) {
+            throw new IllegalArgumentException("Expected at least one run");
+        }
+        return new InsertThroughputOptions(events, results, transactionSize, warmupRuns, runs, output);
+    }
+}
@@ -0,0 +1,180 @@
+package rgonzalez.smbc.integration.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import rgonzalez.smbc.integration.Microservice;
+import rgonzalez.smbc.integration.config.KafkaConfig;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load test of the contacts to customer-ssn-verified pipeline.
+ * Starts an embedded Kafka broker and a local PostgreSQL, runs the service
+ * against them with a simulated SSN provider, and publishes contact events at
+ * a fixed rate. Reports throughput, consumer lag and the latency from each
+ * ContactCreated event to its verification outcome while running, then writes
+ * the latency distribution of the measured period to the output directory.
+ * See {@link LoadTestOptions} for the arguments.
+ */
+public final class LoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTest.class);
+
+    private static final String SERVICE_GROUP_ID = "integration-service";
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Files.createDirectories(options.output());
+
+        try (EmbeddedInfrastructure infrastructure = EmbeddedInfrastructure.start()) {
+            String bootstrapServers = infrastructure.bootstrapServers();
+            try (ConfigurableApplicationContext service = startService(options, infrastructure);
+                    VerificationLatencyRecorder latencyRecorder = new VerificationLatencyRecorder(bootstrapServers);
+                    ContactEventDriver driver = new ContactEventDriver(bootstrapServers, options.mix(),
+                            latencyRecorder);
+                    ConsumerLagProbe lagProbe = new ConsumerLagProbe(bootstrapServers, SERVICE_GROUP_ID,
+                            KafkaConfig.CONTACTS_TOPIC)) {
+                Thread.ofPlatform().name("load-test-verified-consumer").daemon().start(latencyRecorder);
+                run(options, driver, latencyRecorder, lagProbe);
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startService(LoadTestOptions options,
+            EmbeddedInfrastructure infrastructure) {
+        List<String> args = new ArrayList<>(infrastructure.connectionArguments());
+        args.addAll(List.of(
+                "--spring.profiles.active=local",
+                "--spring.jpa.hibernate.ddl-auto=none",
+                "--spring.jpa.show-sql=false",
+                "--spring.flyway.enabled=true",
+                "--server.port=0",
+                "--integration.datasource.replica.enabled=false",
+                "--integration.reconciliation.enabled=false",
+                "--integration.business-events.partitioning.enabled=true",
+                "--integration.ssn-provider.simulated-latency=" + options.providerLatency().toMillis() + "ms",
+                "--integration.provider-rate-limit.permits-per-second=" + options.providerRate(),
+                "--integration.provider-rate-limit.burst=" + (int) Math.ceil(options.providerRate()),
+                "--integration.latest-verifications.state-dir="
+                        + options.output().resolve("state").toAbsolutePath(),
+                "--logging.level.rgonzalez.smbc=WARN"));
+        // Given last, so they override the defaults above
+        args.addAll(options.serviceArguments());
+        return new SpringApplicationBuilder(Microservice.class).run(args.toArray(String[]::new));
+    }
+
+    private static void run(LoadTestOptions options, ContactEventDriver driver,
+            VerificationLatencyRecorder latencyRecorder, ConsumerLagProbe lagProbe)
+            throws IOException, InterruptedException {
+        Histogram total = new Histogram(3);
+        Path histogramLog = options.output().resolve("verification-latency.hlog");
+        long end = System.nanoTime() + options.warmup().toNanos() + options.duration().toNanos();
+
+        try (PrintStream logStream = new PrintStream(Files.newOutputStream(histogramLog))) {
+            HistogramLogWriter logWriter = new HistogramLogWriter(logStream);
+            logWriter.outputLogFormatVersion();
+            logWriter.outputStartTime(System.currentTimeMillis());
+            logWriter.outputLegend();
+            Reporter reporter = new Reporter(driver, latencyRecorder, lagProbe, total, logWriter);
+
+            ScheduledExecutorService reports = Executors.newSingleThreadScheduledExecutor();
+            long intervalMillis = options.reportInterval().toMillis();
+            reports.scheduleAtFixedRate(reporter::report, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+            try {
+                logger.info("Warming up for {} at {} events/s", options.warmup(), options.rate());
+                reports.schedule(() -> {
+                    latencyRecorder.startMeasuring();
+                    logger.info("Measuring for {}", options.duration());
+                }, options.warmup().toNanos(), TimeUnit.NANOSECONDS);
+                driver.run(options.rate(), end);
+
+                long drainDeadline = System.nanoTime() + options.drainTimeout().toNanos();
+                while (latencyRecorder.outstanding() > 0 && System.nanoTime() - drainDeadline < 0) {
+                    TimeUnit.MILLISECONDS.sleep(100);
+                }
+            } finally {
+                reports.shutdown();
+                reports.awaitTermination(10, TimeUnit.SECONDS);
+            }
+            reporter.report();
+        }
+
+        Path percentiles = options.output().resolve("verification-latency.hgrm");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(percentiles))) {
+            total.outputPercentileDistribution(out, 1000.0);
+        }
+        logger.info("Produced {} event(s), {} failed; {} verification(s) outstanding after drain",
+                driver.produced(), driver.failed(), latencyRecorder.outstanding());
+        logger.info("Verification latency over {} sample(s): p50={} ms, p99={} ms, p99.9={} ms, max={} ms",
+                total.getTotalCount(), millis(total.getValueAtPercentile(50)),
+                millis(total.getValueAtPercentile(99)), millis(total.getValueAtPercentile(99.9)),
+                millis(total.getMaxValue()));
+        logger.info("Histograms written to {} and {}", percentiles.toAbsolutePath(), histogramLog.toAbsolutePath());
+    }
+
+    private static String millis(long micros) {
+        return String.format("%.1f", micros / 1000.0);
+    }
+
+    /**
+     * Prints a progress line per report interval and accumulates the interval
+     * histograms.
+     */
+    private static final class Reporter {
+
+        private final ContactEventDriver driver;
+        private final VerificationLatencyRecorder latencyRecorder;
+        private final ConsumerLagProbe lagProbe;
+        private final Histogram total;
+        private final HistogramLogWriter logWriter;
+        private long lastReport = System.nanoTime();
+        private long lastProduced;
+        private long lastVerified;
+
+        Reporter(ContactEventDriver driver, VerificationLatencyRecorder latencyRecorder, ConsumerLagProbe lagProbe,
+                Histogram total, HistogramLogWriter logWriter) {
+            this.driver = driver;
+            this.latencyRecorder = latencyRecorder;
+            this.lagProbe = lagProbe;
+            this.total = total;
+            this.logWriter = logWriter;
+        }
+
+        synchronized void report() {
+            long now = System.nanoTime();
+            double seconds = (now - lastReport) / 1e9;
+            long produced = driver.produced();
+            long verified = latencyRecorder.verified();
+            Histogram interval = latencyRecorder.intervalHistogram();
+            total.add(interval);
+            if (interval.getTotalCount() > 0) {
+                logWriter.outputIntervalHistogram(interval);
+            }
+
+            logger.info("produced {}/s, verified {}/s, lag {}, latency p50={} ms p99={} ms max={} ms",
+                    String.format("%.0f", (produced - lastProduced) / seconds),
+                    String.format("%.0f", (verified - lastVerified) / seconds), lagProbe.lag(),
+                    millis(interval.getValueAtPercentile(50)), millis(interval.getValueAtPercentile(99)),
+                    millis(interval.getMaxValue()));
+            lastReport = now;
+            lastProduced = produced;
+            lastVerified = verified;
+        }
+    }
+}
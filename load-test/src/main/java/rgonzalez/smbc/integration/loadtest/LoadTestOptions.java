@@ -0,0 +1,103 @@
+package rgonzalez.smbc.integration.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load test options, given as {@code --name=value} arguments:
+ * <ul>
+ * <li>{@code --rate}: events produced per second (200)</li>
+ * <li>{@code --duration}: how long events are produced after the warm-up (60s)</li>
+ * <li>{@code --warmup}: events produced before measuring starts (15s)</li>
+ * <li>{@code --mix}: relative weights of the event types
+ * (created=60,updated=30,deleted=10)</li>
+ * <li>{@code --provider-latency}: simulated SSN provider latency (50ms)</li>
+ * <li>{@code --provider-rate}: SSN provider calls per second (1000)</li>
+ * <li>{@code --report-interval}: interval of the progress report (5s)</li>
+ * <li>{@code --drain-timeout}: how long to wait for outstanding verifications
+ * once producing stops (60s)</li>
+ * <li>{@code --output}: directory for the latency histograms
+ * (target/load-test)</li>
+ * </ul>
+ * Other {@code --spring.*}, {@code --integration.*}, {@code --logging.*} and
+ * {@code --management.*} arguments are passed to the service.
+ */
+record LoadTestOptions(
+        double rate,
+        Duration duration,
+        Duration warmup,
+        Map<ContactEventType, Integer> mix,
+        Duration providerLatency,
+        double providerRate,
+        Duration reportInterval,
+        Duration drainTimeout,
+        Path output,
+        List<String> serviceArguments) {
+
+    private static final List<String> SERVICE_PREFIXES = List.of("--spring.", "--integration.", "--logging.",
+            "--management.");
+
+    static LoadTestOptions parse(String[] args) {
+        double rate = 200;
+        Duration duration = Duration.ofSeconds(60);
+        Duration warmup = Duration.ofSeconds(15);
+        Map<ContactEventType, Integer> mix = parseMix("created=60,updated=30,deleted=10");
+        Duration providerLatency = Duration.ofMillis(50);
+        double providerRate = 1000;
+        Duration reportInterval = Duration.ofSeconds(5);
+        Duration drainTimeout = Duration.ofSeconds(60);
+        Path output = Path.of("target", "load-test");
+        List<String> serviceArguments = new ArrayList<>();
+
+        for (String arg : args) {
+            if (SERVICE_PREFIXES.stream().anyMatch(arg::startsWith)) {
+                serviceArguments.add(arg);
+                continue;
+            }
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got [" + arg + "]");
+            }
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            switch (name) {
+                case "rate" -> rate = Double.parseDouble(value);
+                case "duration" -> duration = DurationStyle.detectAndParse(value);
+                case "warmup" -> warmup = DurationStyle.detectAndParse(value);
+                case "mix" -> mix = parseMix(value);
+                case "provider-latency" -> providerLatency = DurationStyle.detectAndParse(value);
+                case "provider-rate" -> providerRate = Double.parseDouble(value);
+                case "report-interval" -> reportInterval = DurationStyle.detectAndParse(value);
+                case "drain-timeout" -> drainTimeout = DurationStyle.detectAndParse(value);
+                case "output" -> output = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option [" + name + "]");
+            }
+        }
+        if (rate <= 0 || providerRate <= 0) {
+            throw new IllegalArgumentException("Rates must be positive");
+        }
+        return new LoadTestOptions(rate, duration, warmup, mix, providerLatency, providerRate, reportInterval,
+                drainTimeout, output, List.copyOf(serviceArguments));
+    }
+
+    private static Map<ContactEventType, Integer> parseMix(String value) {
+        Map<ContactEventType, Integer> mix = new EnumMap<>(ContactEventType.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected type=weight in mix but got [" + entry + "]");
+            }
+            mix.put(ContactEventType.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        if (mix.getOrDefault(ContactEventType.CREATED, 0) <= 0) {
+            throw new IllegalArgumentException("The mix needs created events to verify");
+        }
+        return mix;
+    }
+}
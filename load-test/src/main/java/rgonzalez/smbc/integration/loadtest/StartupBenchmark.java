@@ -0,0 +1,185 @@
+package rgonzalez.smbc.integration.loadtest;
+
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import rgonzalez.smbc.integration.metrics.StartupMetrics;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cold start benchmark of the service.
+ * Starts an embedded Kafka broker and a local PostgreSQL with the schema
+ * migrated, then repeatedly publishes a ContactCreated event and launches the
+ * service jar in a new JVM. Each launch is timed until ContactsEventHandler
+ * logs the first record it received, which includes JVM startup, the Spring
+ * context, the Hibernate metamodel, the Kafka clients and the partition
+ * assignment. Compare a plain exec jar against the aot-cds build to see what
+ * AOT processing and the CDS archive save, and track the results in
+ * startup.csv for regressions.
+ * See {@link StartupBenchmarkOptions} for the arguments.
+ */
+public final class StartupBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupBenchmark.class);
+
+    private static final Pattern FIRST_RECORD = Pattern.compile(
+            Pattern.quote(StartupMetrics.FIRST_RECORD_MESSAGE) + " (\\d+) ms");
+    private static final Pattern CONTEXT_STARTED = Pattern.compile("Started \\S+ in ([\\d.]+) seconds");
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        StartupBenchmarkOptions options = StartupBenchmarkOptions.parse(args);
+        Files.createDirectories(options.output());
+        logger.info("Launching {} with JVM options {}", options.jar(), options.jvmArguments());
+
+        List<Launch> measured = new ArrayList<>();
+        try (EmbeddedInfrastructure infrastructure = EmbeddedInfrastructure.start();
+                ContactEventDriver driver = new ContactEventDriver(infrastructure.bootstrapServers())) {
+            Flyway.configure()
+                    .dataSource(infrastructure.jdbcUrl(), "postgres", "postgres")
+                    .schemas("integration")
+                    .load()
+                    .migrate();
+
+            for (int i = 0; i < options.warmupRuns() + options.runs(); i++) {
+                boolean warmup = i < options.warmupRuns();
+                String name = warmup ? "warmup-" + (i + 1) : "run-" + (i - options.warmupRuns() + 1);
+                driver.publishCreated();
+                Launch launch = launch(options, infrastructure, name);
+                logger.info("{}: first record {} ms after launch ({} ms after JVM start), context started in {} s",
+                        name, launch.launchToFirstRecordMillis(), launch.jvmToFirstRecordMillis(),
+                        launch.contextStartedSeconds());
+                if (!warmup) {
+                    measured.add(launch);
+                }
+            }
+        }
+        report(options, measured);
+    }
+
+    private static Launch launch(StartupBenchmarkOptions options, EmbeddedInfrastructure infrastructure,
+            String name) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(options.jvmArguments());
+        command.add("-jar");
+        command.add(options.jar().toString());
+        // The default (mix) profile, which AOT processing keeps active anyway, with
+        // the connection settings it takes from the environment
+        command.addAll(infrastructure.connectionArguments());
+        command.addAll(List.of(
+                "--spring.kafka.properties.security.protocol=PLAINTEXT",
+                "--spring.jpa.hibernate.ddl-auto=none",
+                "--spring.jpa.show-sql=false",
+                "--server.port=0",
+                // A new instance starts without local state
+                "--integration.latest-verifications.state-dir="
+                        + options.output().resolve("state").resolve(name).toAbsolutePath()));
+        command.addAll(options.serviceArguments());
+
+        Path log = options.output().resolve(name + ".log");
+        long launchedAt = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(options.jar().getParent().toFile())
+                .redirectErrorStream(true)
+                .start();
+        CompletableFuture<Launch> firstRecord = new CompletableFuture<>();
+        Thread watcher = Thread.ofPlatform().name("startup-benchmark-" + name).daemon()
+                .start(() -> watch(process, log, launchedAt, firstRecord));
+        try {
+            return firstRecord.get(options.timeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("No record received within " + options.timeout() + ", see " + log);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause().getMessage() + ", see " + log, e.getCause());
+        } finally {
+            // Unlike Process.destroy, leaves the output open so the shutdown is logged
+            process.toHandle().destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+            watcher.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * Copies the service output to its log file until the service exits, and
+     * completes the launch once the first record has been received.
+     */
+    private static void watch(Process process, Path log, long launchedAt, CompletableFuture<Launch> firstRecord) {
+        double contextStartedSeconds = Double.NaN;
+        try (BufferedReader output = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+                BufferedWriter writer = Files.newBufferedWriter(log)) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                long now = System.nanoTime();
+                writer.write(line);
+                writer.newLine();
+                Matcher started = CONTEXT_STARTED.matcher(line);
+                if (started.find()) {
+                    contextStartedSeconds = Double.parseDouble(started.group(1));
+                }
+                Matcher received = FIRST_RECORD.matcher(line);
+                if (received.find()) {
+                    firstRecord.complete(new Launch(TimeUnit.NANOSECONDS.toMillis(now - launchedAt),
+                            Long.parseLong(received.group(1)), contextStartedSeconds));
+                }
+            }
+            firstRecord.completeExceptionally(new IllegalStateException(
+                    "Service exited with code " + process.waitFor() + " before receiving a record"));
+        } catch (IOException | InterruptedException e) {
+            firstRecord.completeExceptionally(e);
+        }
+    }
+
+    private static void report(StartupBenchmarkOptions options, List<Launch> launches) throws IOException {
+        Path results = options.output().resolve("startup.csv");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(results))) {
+            out.println("run,launch_to_first_record_ms,jvm_to_first_record_ms,context_started_s");
+            for (int i = 0; i < launches.size(); i++) {
+                Launch launch = launches.get(i);
+                out.printf("%d,%d,%d,%.3f%n", i + 1, launch.launchToFirstRecordMillis(),
+                        launch.jvmToFirstRecordMillis(), launch.contextStartedSeconds());
+            }
+        }
+        long[] sorted = launches.stream().mapToLong(Launch::launchToFirstRecordMillis).sorted().toArray();
+        logger.info("Launch to first record over {} run(s): min={} ms, median={} ms, max={} ms", sorted.length,
+                sorted[0], sorted[sorted.length / 2], sorted[sorted.length - 1]);
+        logger.info("Results written to {}", results.toAbsolutePath());
+    }
+
+    /**
+     * Timings of one launch.
+     *
+     * @param launchToFirstRecordMillis from starting the JVM process until the
+     *                                  first record was logged, as seen by the
+     *                                  benchmark
+     * @param jvmToFirstRecordMillis    the same, as measured by the service from
+     *                                  its process start time
+     * @param contextStartedSeconds     Spring Boot's reported startup time of the
+     *                                  application context
+     */
+    private record Launch(long launchToFirstRecordMillis, long jvmToFirstRecordMillis,
+            double contextStartedSeconds) {
+    }
+}
@@ -0,0 +1,83 @@
+package rgonzalez.smbc.integration.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Startup benchmark options, given as {@code --name=value} arguments:
+ * <ul>
+ * <li>{@code --jar}: the service jar to launch, e.g. the exec jar in target, or
+ * the extracted jar in target/aot-cds (required)</li>
+ * <li>{@code --jvm-args}: JVM options of the service, separated by spaces, e.g.
+ * {@code "-XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true"}
+ * (none)</li>
+ * <li>{@code --runs}: measured launches (5)</li>
+ * <li>{@code --warmup-runs}: launches before measuring, which also apply the
+ * committed offsets and warm the file cache (1)</li>
+ * <li>{@code --timeout}: how long a launch may take to receive its first record
+ * (3m)</li>
+ * <li>{@code --output}: directory for the service logs and the results
+ * (target/startup-benchmark)</li>
+ * </ul>
+ * The service runs in the jar's directory, so relative paths in
+ * {@code --jvm-args} resolve next to the jar. Other {@code --spring.*},
+ * {@code --integration.*}, {@code --logging.*} and {@code --management.*}
+ * arguments are passed to the service.
+ */
+record StartupBenchmarkOptions(
+        Path jar,
+        List<String> jvmArguments,
+        int runs,
+        int warmupRuns,
+        Duration timeout,
+        Path output,
+        List<String> serviceArguments) {
+
+    private static final List<String> SERVICE_PREFIXES = List.of("--spring.", "--integration.", "--logging.",
+            "--management.");
+
+    static StartupBenchmarkOptions parse(String[] args) {
+        Path jar = null;
+        List<String> jvmArguments = List.of();
+        int runs = 5;
+        int warmupRuns = 1;
+        Duration timeout = Duration.ofMinutes(3);
+        Path output = Path.of("target", "startup-benchmark");
+        List<String> serviceArguments = new ArrayList<>();
+
+        for (String arg : args) {
+            if (SERVICE_PREFIXES.stream().anyMatch(arg::startsWith)) {
+                serviceArguments.add(arg);
+                continue;
+            }
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got [" + arg + "]");
+            }
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            switch (name) {
+                case "jar" -> jar = Path.of(value).toAbsolutePath();
+                case "jvm-args" -> jvmArguments = value.isBlank() ? List.of() : List.of(value.trim().split("\\s+"));
+                case "runs" -> runs = Integer.parseInt(value);
+                case "warmup-runs" -> warmupRuns = Integer.parseInt(value);
+                case "timeout" -> timeout = DurationStyle.detectAndParse(value);
+                case "output" -> output = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option [" + name + "]");
+            }
+        }
+        if (jar == null || !Files.isRegularFile(jar)) {
+            throw new IllegalArgumentException("--jar must point to the service jar, got [" + jar + "]");
+        }
+        if (runs <= 0 || warmupRuns < 0) {
+            throw new IllegalArgumentException("Expected at least one run");
+        }
+        return new StartupBenchmarkOptions(jar, jvmArguments, runs, warmupRuns, timeout, output,
+                List.copyOf(serviceArguments));
+    }
+}
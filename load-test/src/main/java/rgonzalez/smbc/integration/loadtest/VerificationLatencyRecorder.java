@@ -0,0 +1,104 @@
+package rgonzalez.smbc.integration.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+
+import rgonzalez.smbc.integration.config.KafkaConfig;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Consumes the customer-ssn-verified topic and records the end-to-end latency
+ * from the intended send time of each ContactCreated event to the arrival of
+ * its verification outcome, in microseconds.
+ * Only contacts created after {@link #startMeasuring()} are recorded, so the
+ * warm-up does not skew the histogram.
+ */
+final class VerificationLatencyRecorder implements Runnable, AutoCloseable {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final KafkaConsumer<String, byte[]> consumer;
+    private final Map<String, Long> expected = new ConcurrentHashMap<>();
+    private final Recorder recorder = new Recorder(MAX_LATENCY_MICROS, 3);
+    private final LongAdder verified = new LongAdder();
+    private volatile long measureFromNanos = Long.MAX_VALUE;
+
+    VerificationLatencyRecorder(String bootstrapServers) {
+        this.consumer = new KafkaConsumer<>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ConsumerConfig.GROUP_ID_CONFIG, "integration-load-test",
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest"),
+                new StringDeserializer(), new ByteArrayDeserializer());
+        this.consumer.subscribe(List.of(KafkaConfig.CUSTOMER_SSN_VERIFIED_TOPIC));
+    }
+
+    /**
+     * Register a created contact whose verification outcome is awaited.
+     */
+    void expect(String contactId, long intendedNanos) {
+        expected.put(contactId, intendedNanos);
+    }
+
+    void startMeasuring() {
+        measureFromNanos = System.nanoTime();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                for (ConsumerRecord<String, byte[]> record : consumer.poll(Duration.ofMillis(100))) {
+                    Long intendedNanos = record.key() == null ? null : expected.remove(record.key());
+                    if (intendedNanos == null) {
+                        continue;
+                    }
+                    verified.increment();
+                    if (intendedNanos - measureFromNanos >= 0) {
+                        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedNanos);
+                        recorder.recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+                    }
+                }
+            }
+        } catch (WakeupException e) {
+            // Closing
+        } finally {
+            consumer.close();
+        }
+    }
+
+    /**
+     * Returns the latencies recorded since the previous call.
+     */
+    Histogram intervalHistogram() {
+        return recorder.getIntervalHistogram();
+    }
+
+    long verified() {
+        return verified.sum();
+    }
+
+    /**
+     * Returns the number of measured contacts still waiting for their outcome.
+     */
+    long outstanding() {
+        long from = measureFromNanos;
+        return expected.values().stream().filter(intended -> intended - from >= 0).count();
+    }
+
+    @Override
+    public void close() {
+        consumer.wakeup();
+    }
+}
@@ -1,14 +1,24 @@
 package rgonzalez.smbc.integration.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
-
-import java.util.concurrent.Executor;
+import rgonzalez.smbc.integration.executor.ResizableTaskExecutor;
+import rgonzalez.smbc.integration.tracing.MdcTaskDecorator;
 
 /**
  * Configuration for async task execution.
  * Configures thread pools for async operations.
+ * Per-handler business event executors are configured through
+ * {@link EventHandlerProperties}.
+ * The executors are declared as {@link ThreadPoolTaskExecutor} so Spring Boot
+ * binds their pool size, active count and queue depth to the
+ * {@code executor.*} metrics, tagged with the bean name.
+ * Tasks run with the MDC, including the correlation id, of the submitting
+ * thread.
+ * Initial pool sizes come from {@link ExecutorProperties}; the executors can
+ * be resized through the executors actuator endpoint.
  */
 @Configuration
 public class AsyncConfig {
@@ -19,28 +29,30 @@ public class AsyncConfig {
      * @return Executor bean for async task execution
      */
     @Bean(name = "asyncExecutor")
-    public Executor asyncExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(10);
-        executor.setQueueCapacity(100);
+    public ResizableTaskExecutor asyncExecutor(ExecutorProperties properties, MeterRegistry meterRegistry) {
+        ResizableTaskExecutor executor = new ResizableTaskExecutor("asyncExecutor", properties.getAsync(),
+                meterRegistry);
         executor.setThreadNamePrefix("async-");
+        executor.setTaskDecorator(new MdcTaskDecorator());
         executor.initialize();
         return executor;
     }
 
     /**
      * Configure the executor specifically for SSN verification tasks.
+     * Runs the provider calls released by the provider rate limiter; the core
+     * pool covers integration.provider-rate-limit.max-in-flight, so released
+     * calls start right away.
      * 
      * @return Executor bean for SSN verification operations
      */
     @Bean(name = "ssnVerificationExecutor")
-    public Executor ssnVerificationExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(3);
-        executor.setMaxPoolSize(8);
-        executor.setQueueCapacity(50);
+    public ResizableTaskExecutor ssnVerificationExecutor(ExecutorProperties properties,
+            MeterRegistry meterRegistry) {
+        ResizableTaskExecutor executor = new ResizableTaskExecutor("ssnVerificationExecutor",
+                properties.getSsnVerification(), meterRegistry);
         executor.setThreadNamePrefix("ssn-verification-");
+        executor.setTaskDecorator(new MdcTaskDecorator());
         executor.initialize();
         return executor;
     }
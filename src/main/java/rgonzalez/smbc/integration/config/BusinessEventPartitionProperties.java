@@ -0,0 +1,64 @@
+package rgonzalez.smbc.integration.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the monthly range partitions of integration.business_events.
+ */
+@ConfigurationProperties(prefix = "integration.business-events.partitioning")
+public class BusinessEventPartitionProperties {
+
+    /**
+     * Whether partition maintenance runs. Requires business_events to be created
+     * as a partitioned table (see migration V4).
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of months ahead of the current month to keep partitions for.
+     */
+    private int premakeMonths = 3;
+
+    /**
+     * Number of full months, before the current one, to keep attached. Older
+     * partitions are detached, archived and dropped.
+     */
+    private int retentionMonths = 12;
+
+    /**
+     * Directory receiving the gzip-compressed CSV archive of detached partitions.
+     */
+    private String archiveDirectory = "archive/business-events";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getPremakeMonths() {
+        return premakeMonths;
+    }
+
+    public void setPremakeMonths(int premakeMonths) {
+        this.premakeMonths = premakeMonths;
+    }
+
+    public int getRetentionMonths() {
+        return retentionMonths;
+    }
+
+    public void setRetentionMonths(int retentionMonths) {
+        this.retentionMonths = retentionMonths;
+    }
+
+    public String getArchiveDirectory() {
+        return archiveDirectory;
+    }
+
+    public void setArchiveDirectory(String archiveDirectory) {
+        this.archiveDirectory = archiveDirectory;
+    }
+}
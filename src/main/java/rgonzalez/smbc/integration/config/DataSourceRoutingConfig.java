@@ -0,0 +1,53 @@
+package rgonzalez.smbc.integration.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Read/write datasource routing.
+ * Writes use the primary pool configured under {@code spring.datasource}; work
+ * in read-only transactions, such as the {@code @Transactional(readOnly = true)}
+ * queries of the SSN verification result repository, uses a separate replica
+ * pool configured under {@code integration.datasource.replica}. Each pool has
+ * its own size and Hikari metrics (tagged by pool name), so heavy reads cannot
+ * take connections away from event ingestion. The replica may also point at
+ * the primary database to get the isolation without a physical replica.
+ * <p>
+ * Routing is decided when a statement is first executed: the lazy proxy only
+ * fetches a physical connection once the transaction manager has marked it
+ * read-only or not. Reads on a real replica may lag behind recent writes.
+ */
+@Configuration
+@ConditionalOnProperty(name = "integration.datasource.replica.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("integration.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primaryDataSource);
+        routing.setReadOnlyDataSource(replicaDataSource);
+        return routing;
+    }
+}
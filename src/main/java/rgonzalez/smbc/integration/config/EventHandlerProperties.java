@@ -0,0 +1,108 @@
+package rgonzalez.smbc.integration.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Execution settings for business event handlers, keyed by handler name.
+ * Handlers without an entry run inline on the Kafka listener thread.
+ */
+@ConfigurationProperties(prefix = "integration.event-handlers")
+public class EventHandlerProperties {
+
+    /**
+     * Executor settings per handler name.
+     */
+    private Map<String, Execution> executors = new HashMap<>();
+
+    public Map<String, Execution> getExecutors() {
+        return executors;
+    }
+
+    public void setExecutors(Map<String, Execution> executors) {
+        this.executors = executors;
+    }
+
+    /**
+     * Returns the execution settings for a handler, falling back to inline
+     * execution.
+     *
+     * @param handlerName the handler name
+     * @return the execution settings
+     */
+    public Execution executionFor(String handlerName) {
+        return executors.getOrDefault(handlerName, new Execution());
+    }
+
+    public enum Mode {
+        /**
+         * Run on the listener thread. Failures are propagated and the record is
+         * retried.
+         */
+        INLINE,
+        /**
+         * Run on a dedicated bounded pool, off the listener thread. The listener
+         * waits for the handler, so failures are propagated and the record is
+         * retried as in INLINE mode; a full pool rejects it and the record is
+         * retried.
+         */
+        POOLED
+    }
+
+    public static class Execution {
+
+        /**
+         * Where the handler runs.
+         */
+        private Mode mode = Mode.INLINE;
+
+        /**
+         * Core pool size of the dedicated executor in POOLED mode.
+         */
+        private int corePoolSize = 1;
+
+        /**
+         * Max pool size of the dedicated executor in POOLED mode.
+         */
+        private int maxPoolSize = 2;
+
+        /**
+         * Queue capacity of the dedicated executor in POOLED mode.
+         */
+        private int queueCapacity = 100;
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+
+        public int getCorePoolSize() {
+            return corePoolSize;
+        }
+
+        public void setCorePoolSize(int corePoolSize) {
+            this.corePoolSize = corePoolSize;
+        }
+
+        public int getMaxPoolSize() {
+            return maxPoolSize;
+        }
+
+        public void setMaxPoolSize(int maxPoolSize) {
+            this.maxPoolSize = maxPoolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package rgonzalez.smbc.integration.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import rgonzalez.smbc.integration.executor.RejectionPolicy;
+
+import java.time.Duration;
+
+/**
+ * Initial settings of the application thread pools. The pools can be resized
+ * at runtime through the executors actuator endpoint.
+ */
+@ConfigurationProperties(prefix = "integration.executors")
+public class ExecutorProperties {
+
+    /**
+     * The asyncExecutor pool.
+     */
+    private Pool async = new Pool(5, 10, 100);
+
+    /**
+     * The ssnVerificationExecutor pool, running the provider calls released by
+     * the provider rate limiter.
+     */
+    private Pool ssnVerification = new Pool(8, 8, 50);
+
+    public Pool getAsync() {
+        return async;
+    }
+
+    public void setAsync(Pool async) {
+        this.async = async;
+    }
+
+    public Pool getSsnVerification() {
+        return ssnVerification;
+    }
+
+    public void setSsnVerification(Pool ssnVerification) {
+        this.ssnVerification = ssnVerification;
+    }
+
+    public static class Pool {
+
+        /**
+         * Number of threads kept alive when idle.
+         */
+        private int corePoolSize;
+
+        /**
+         * Maximum number of threads, started once the queue is full.
+         */
+        private int maxPoolSize;
+
+        /**
+         * Number of tasks that may wait for a thread. Must be at least 1.
+         */
+        private int queueCapacity;
+
+        /**
+         * What to do with a task submitted while all threads are busy and the
+         * queue is full.
+         */
+        private RejectionPolicy rejectionPolicy = RejectionPolicy.ABORT;
+
+        /**
+         * How long the BLOCK policy waits for queue space before rejecting.
+         */
+        private Duration blockTimeout = Duration.ofSeconds(30);
+
+        public Pool() {
+        }
+
+        Pool(int corePoolSize, int maxPoolSize, int queueCapacity) {
+            this.corePoolSize = corePoolSize;
+            this.maxPoolSize = maxPoolSize;
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getCorePoolSize() {
+            return corePoolSize;
+        }
+
+        public void setCorePoolSize(int corePoolSize) {
+            this.corePoolSize = corePoolSize;
+        }
+
+        public int getMaxPoolSize() {
+            return maxPoolSize;
+        }
+
+        public void setMaxPoolSize(int maxPoolSize) {
+            this.maxPoolSize = maxPoolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public RejectionPolicy getRejectionPolicy() {
+            return rejectionPolicy;
+        }
+
+        public void setRejectionPolicy(RejectionPolicy rejectionPolicy) {
+            this.rejectionPolicy = rejectionPolicy;
+        }
+
+        public Duration getBlockTimeout() {
+            return blockTimeout;
+        }
+
+        public void setBlockTimeout(Duration blockTimeout) {
+            this.blockTimeout = blockTimeout;
+        }
+    }
+}
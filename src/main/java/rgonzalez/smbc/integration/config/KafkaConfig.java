@@ -1,7 +1,9 @@
 package rgonzalez.smbc.integration.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.CooperativeStickyAssignor;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
@@ -12,19 +14,31 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerConsumerListener;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.JacksonMapperUtils;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
-import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.support.serializer.JacksonJsonDeserializer;
+import org.springframework.kafka.support.serializer.JacksonJsonSerializer;
+import org.springframework.util.StringUtils;
 import org.springframework.util.backoff.FixedBackOff;
+import tools.jackson.databind.cfg.DateTimeFeature;
+import tools.jackson.databind.json.JsonMapper;
 
+import rgonzalez.smbc.integration.kafka.SsnVerificationRequest;
+import rgonzalez.smbc.integration.kafka.TimedDeserializer;
+import rgonzalez.smbc.integration.metrics.PipelineMetrics;
+import rgonzalez.smbc.integration.metrics.PipelineStage;
 import rgonzalez.smbc.integration.model.BusinessEvent;
 import rgonzalez.smbc.integration.model.SsnVerificationResult;
+import rgonzalez.smbc.integration.model.SsnVerificationResultSummary;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -36,40 +50,59 @@ public class KafkaConfig {
     public static final String CONTACTS_TOPIC = "contacts";
     public static final String CUSTOMER_VERIFICATIONS_TOPIC = "customer-verifications";
     public static final String CUSTOMER_SSN_VERIFIED_TOPIC = "customer-ssn-verified";
-    public static final int PARTITIONS = 3;
+    public static final String CUSTOMER_SSN_VERIFIED_LATEST_TOPIC = "customer-ssn-verified-latest";
+    public static final int DEFAULT_PARTITIONS = 3;
     public static final short REPLICATION_FACTOR = 1;
 
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
     /**
-     * Create the Contacts topic with 3 partitions
+     * Create the Contacts topic with integration.kafka.partitions partitions
      * Only creates if kafka.auto-create-topics is enabled
      */
     @Bean
     @ConditionalOnProperty(name = "kafka.auto-create-topics", havingValue = "true", matchIfMissing = false)
-    public NewTopic contactsTopic() {
-        return new NewTopic(CONTACTS_TOPIC, PARTITIONS, REPLICATION_FACTOR);
+    public NewTopic contactsTopic(KafkaScalingProperties scaling) {
+        return new NewTopic(CONTACTS_TOPIC, scaling.getPartitions(), REPLICATION_FACTOR);
     }
 
     /**
-     * Create the Customer Verifications topic with 3 partitions
+     * Create the Customer Verifications topic with integration.kafka.partitions
+     * partitions
      * Only creates if kafka.auto-create-topics is enabled
      */
     @Bean
     @ConditionalOnProperty(name = "kafka.auto-create-topics", havingValue = "true", matchIfMissing = false)
-    public NewTopic customerVerificationsTopic() {
-        return new NewTopic(CUSTOMER_VERIFICATIONS_TOPIC, PARTITIONS, REPLICATION_FACTOR);
+    public NewTopic customerVerificationsTopic(KafkaScalingProperties scaling) {
+        return new NewTopic(CUSTOMER_VERIFICATIONS_TOPIC, scaling.getPartitions(), REPLICATION_FACTOR);
     }
 
     /**
-     * Create the Customer SSN Verified topic with 3 partitions
+     * Create the Customer SSN Verified topic with integration.kafka.partitions
+     * partitions
      * Only creates if kafka.auto-create-topics is enabled
      */
     @Bean
     @ConditionalOnProperty(name = "kafka.auto-create-topics", havingValue = "true", matchIfMissing = false)
-    public NewTopic customerSsnVerifiedTopic() {
-        return new NewTopic(CUSTOMER_SSN_VERIFIED_TOPIC, PARTITIONS, REPLICATION_FACTOR);
+    public NewTopic customerSsnVerifiedTopic(KafkaScalingProperties scaling) {
+        return new NewTopic(CUSTOMER_SSN_VERIFIED_TOPIC, scaling.getPartitions(), REPLICATION_FACTOR);
+    }
+
+    /**
+     * Create the log-compacted Customer SSN Verified Latest topic with
+     * integration.kafka.partitions partitions, keeping the latest verification
+     * per contact
+     * Only creates if kafka.auto-create-topics is enabled
+     */
+    @Bean
+    @ConditionalOnProperty(name = "kafka.auto-create-topics", havingValue = "true", matchIfMissing = false)
+    public NewTopic customerSsnVerifiedLatestTopic(KafkaScalingProperties scaling) {
+        return TopicBuilder.name(CUSTOMER_SSN_VERIFIED_LATEST_TOPIC)
+                .partitions(scaling.getPartitions())
+                .replicas(REPLICATION_FACTOR)
+                .compact()
+                .build();
     }
 
     /**
@@ -79,44 +112,48 @@ public class KafkaConfig {
      * time per partition
      * - Disabling auto-commit to ensure offset is committed only after successful
      * processing
+     * Value deserialization is timed, and client metrics (including the records
+     * lag per partition) are exported through Micrometer
      */
     @Bean
-    public ConsumerFactory<String, BusinessEvent> contactsConsumerFactory(KafkaProperties kafkaProperties) {
+    public ConsumerFactory<String, BusinessEvent> contactsConsumerFactory(KafkaProperties kafkaProperties,
+            KafkaScalingProperties scaling, PipelineMetrics pipelineMetrics, MeterRegistry meterRegistry) {
         Map<String, Object> configProps = new HashMap<>(kafkaProperties.buildConsumerProperties());
 
-        // Use ErrorHandlingDeserializer to wrap the actual deserializers
-        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
-        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
-
-        // Configure the wrapped deserializers
-        configProps.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class);
-        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
-
         configProps.put(ConsumerConfig.GROUP_ID_CONFIG, "integration-service");
+        configureGroupMembership(configProps, scaling, "contacts");
 
         // Message ordering guarantees
         configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 1); // Process one message at a time
         configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false); // Manual offset commit
         configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest"); // Start from beginning if no offset
 
-        // JsonDeserializer configuration for the wrapped instance
-        configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+        // JacksonJsonDeserializer configuration for the wrapped instance
+        configProps.put(JacksonJsonDeserializer.TRUSTED_PACKAGES, "*");
         // Disable type info headers since contacts-api doesn't send them
         // Instead, use the default type for deserialization
-        configProps.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
-        configProps.put(JsonDeserializer.VALUE_DEFAULT_TYPE, "rgonzalez.smbc.integration.model.BusinessEvent");
+        configProps.put(JacksonJsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+        configProps.put(JacksonJsonDeserializer.VALUE_DEFAULT_TYPE, "rgonzalez.smbc.integration.model.BusinessEvent");
 
-        return new DefaultKafkaConsumerFactory<>(configProps);
+        // Use ErrorHandlingDeserializer to wrap the actual deserializers
+        DefaultKafkaConsumerFactory<String, BusinessEvent> factory = new DefaultKafkaConsumerFactory<>(configProps,
+                () -> new ErrorHandlingDeserializer<>(new StringDeserializer()),
+                () -> new ErrorHandlingDeserializer<>(new TimedDeserializer<>(new JacksonJsonDeserializer<>(),
+                        pipelineMetrics.timer(PipelineStage.DESERIALIZE))));
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
     }
 
     /**
      * Kafka Listener Container Factory for processing contacts
      * Guarantees message ordering by setting concurrency=1 (single threaded)
      * This ensures messages from all partitions are processed sequentially
+     * With the warm-up enabled, the containers are started by ContactsWarmUp
+     * once it is done instead of with the application context
      */
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, BusinessEvent> contactsKafkaListenerContainerFactory(
-            ConsumerFactory<String, BusinessEvent> contactsConsumerFactory) {
+            ConsumerFactory<String, BusinessEvent> contactsConsumerFactory, WarmUpProperties warmUpProperties) {
         ConcurrentKafkaListenerContainerFactory<String, BusinessEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
 
         // Add error handler with exponential backoff
@@ -125,11 +162,87 @@ public class KafkaConfig {
 
         factory.setConcurrency(1); // Single threaded consumer for ordering
         factory.setConsumerFactory(contactsConsumerFactory);
+        factory.setAutoStartup(!warmUpProperties.isEnabled());
         factory.getContainerProperties().setAckMode(
                 org.springframework.kafka.listener.ContainerProperties.AckMode.MANUAL); // Manual acknowledgment
         return factory;
     }
 
+    /**
+     * Consumer Factory for SSN verification requests on the
+     * customer-verifications topic
+     * Polls large batches; ordering does not matter for independent verification
+     * requests
+     */
+    @Bean
+    public ConsumerFactory<String, SsnVerificationRequest> customerVerificationsConsumerFactory(
+            KafkaProperties kafkaProperties, KafkaScalingProperties scaling,
+            @Value("${integration.customer-verifications.max-poll-records:500}") int maxPollRecords,
+            PipelineMetrics pipelineMetrics, MeterRegistry meterRegistry) {
+        Map<String, Object> configProps = new HashMap<>(kafkaProperties.buildConsumerProperties());
+
+        configProps.put(ConsumerConfig.GROUP_ID_CONFIG, "integration-service");
+        configureGroupMembership(configProps, scaling, "customer-verifications");
+        configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+
+        configProps.put(JacksonJsonDeserializer.TRUSTED_PACKAGES, "*");
+        configProps.put(JacksonJsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+        configProps.put(JacksonJsonDeserializer.VALUE_DEFAULT_TYPE, SsnVerificationRequest.class.getName());
+
+        DefaultKafkaConsumerFactory<String, SsnVerificationRequest> factory = new DefaultKafkaConsumerFactory<>(
+                configProps,
+                () -> new ErrorHandlingDeserializer<>(new StringDeserializer()),
+                () -> new ErrorHandlingDeserializer<>(new TimedDeserializer<>(new JacksonJsonDeserializer<>(),
+                        pipelineMetrics.timer(PipelineStage.DESERIALIZE))));
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
+    }
+
+    /**
+     * Batch Kafka Listener Container Factory for the customer-verifications topic
+     * The listener acknowledges a batch once all of its verifications have
+     * completed, possibly minutes after it returned; with async acks the
+     * container pauses the consumer until then and keeps polling, so the member
+     * stays in the group, and commits the offsets on the consumer thread
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, SsnVerificationRequest> customerVerificationsKafkaListenerContainerFactory(
+            ConsumerFactory<String, SsnVerificationRequest> customerVerificationsConsumerFactory,
+            @Value("${integration.customer-verifications.concurrency:${integration.kafka.partitions:"
+                    + DEFAULT_PARTITIONS + "}}") int concurrency) {
+        ConcurrentKafkaListenerContainerFactory<String, SsnVerificationRequest> factory = new ConcurrentKafkaListenerContainerFactory<>();
+
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(1000, 3)));
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.setConsumerFactory(customerVerificationsConsumerFactory);
+        factory.getContainerProperties().setAckMode(
+                org.springframework.kafka.listener.ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(true);
+        return factory;
+    }
+
+    /**
+     * Group membership shared by the consumers of the integration-service group.
+     * The cooperative sticky assignor rebalances incrementally, so when instances
+     * join or leave only the partitions that move are revoked, and the other
+     * members keep consuming. It is in the client's default assignor list, so
+     * instances still on the default can share the group during a rolling
+     * update. With an instance id, each listener joins as a static member,
+     * suffixed with -n per consumer by the container, and a restart within the
+     * session timeout triggers no rebalance.
+     */
+    private static void configureGroupMembership(Map<String, Object> configProps, KafkaScalingProperties scaling,
+            String listener) {
+        configProps.put(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG,
+                CooperativeStickyAssignor.class.getName());
+        if (StringUtils.hasText(scaling.getInstanceId())) {
+            configProps.put(ConsumerConfig.GROUP_INSTANCE_ID_CONFIG, scaling.getInstanceId() + "-" + listener);
+        }
+    }
+
     /**
      * Producer Factory for SsnVerificationResult with String serialization for keys
      * and
@@ -137,14 +250,15 @@ public class KafkaConfig {
      */
     @Bean
     public ProducerFactory<String, SsnVerificationResult> ssnVerificationResultProducerFactory(
-            KafkaProperties kafkaProperties) {
+            KafkaProperties kafkaProperties, MeterRegistry meterRegistry) {
         Map<String, Object> configProps = new HashMap<>(kafkaProperties.buildProducerProperties());
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
         configProps.put(ProducerConfig.ACKS_CONFIG, "all");
         configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
-        configProps.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
-        return new DefaultKafkaProducerFactory<>(configProps);
+        DefaultKafkaProducerFactory<String, SsnVerificationResult> factory = new DefaultKafkaProducerFactory<>(
+                configProps, StringSerializer::new,
+                () -> new JacksonJsonSerializer<SsnVerificationResult>(producerJsonMapper()).noTypeInfo());
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return factory;
     }
 
     /**
@@ -158,4 +272,43 @@ public class KafkaConfig {
             ProducerFactory<String, SsnVerificationResult> ssnVerificationResultProducerFactory) {
         return new KafkaTemplate<>(ssnVerificationResultProducerFactory);
     }
+
+    /**
+     * Producer Factory for SsnVerificationResultSummary with String serialization
+     * for keys and JSON for values, for the latest verification per contact
+     */
+    @Bean
+    public ProducerFactory<String, SsnVerificationResultSummary> latestSsnVerificationProducerFactory(
+            KafkaProperties kafkaProperties, MeterRegistry meterRegistry) {
+        Map<String, Object> configProps = new HashMap<>(kafkaProperties.buildProducerProperties());
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
+        DefaultKafkaProducerFactory<String, SsnVerificationResultSummary> factory = new DefaultKafkaProducerFactory<>(
+                configProps, StringSerializer::new,
+                () -> new JacksonJsonSerializer<SsnVerificationResultSummary>(producerJsonMapper()).noTypeInfo());
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return factory;
+    }
+
+    /**
+     * Jackson 3 mapper for the produced values. Dates are written as arrays, as
+     * the Jackson 2 JsonSerializer did, so consumers of the outbound topics keep
+     * receiving the same format
+     */
+    public static JsonMapper producerJsonMapper() {
+        return JacksonMapperUtils.enhancedJsonMapper().rebuild()
+                .enable(DateTimeFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    /**
+     * KafkaTemplate for sending SsnVerificationResultSummary messages to the
+     * compacted customer-ssn-verified-latest topic
+     * The contact id will be used as the message key
+     */
+    @Bean
+    public KafkaTemplate<String, SsnVerificationResultSummary> latestSsnVerificationKafkaTemplate(
+            ProducerFactory<String, SsnVerificationResultSummary> latestSsnVerificationProducerFactory) {
+        return new KafkaTemplate<>(latestSsnVerificationProducerFactory);
+    }
 }
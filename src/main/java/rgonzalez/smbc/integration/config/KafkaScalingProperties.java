@@ -0,0 +1,57 @@
+package rgonzalez.smbc.integration.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for running several instances in the integration-service consumer
+ * group.
+ */
+@ConfigurationProperties(prefix = "integration.kafka")
+public class KafkaScalingProperties {
+
+    /**
+     * Partitions of the topics the service creates, which bounds the number of
+     * instances sharing the load. Partitions can be added to existing topics but
+     * not removed, and adding them moves keys to other partitions.
+     */
+    private int partitions = KafkaConfig.DEFAULT_PARTITIONS;
+
+    /**
+     * Stable id of this instance, e.g. the pod name of a StatefulSet, used as
+     * static group membership so a restarted instance gets its partitions back
+     * without a rebalance. Dynamic membership when empty.
+     */
+    private String instanceId;
+
+    /**
+     * How long shutdown waits, after pausing the listeners, for in-flight
+     * verifications and unacknowledged events before the final offset commit.
+     */
+    private Duration drainTimeout = Duration.ofSeconds(20);
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public void setPartitions(int partitions) {
+        this.partitions = partitions;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public void setInstanceId(String instanceId) {
+        this.instanceId = instanceId;
+    }
+
+    public Duration getDrainTimeout() {
+        return drainTimeout;
+    }
+
+    public void setDrainTimeout(Duration drainTimeout) {
+        this.drainTimeout = drainTimeout;
+    }
+}
@@ -0,0 +1,87 @@
+package rgonzalez.smbc.integration.config;
+
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.GlobalKTable;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.state.Stores;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.kafka.autoconfigure.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+import org.springframework.kafka.annotation.KafkaStreamsDefaultConfiguration;
+import org.springframework.kafka.config.KafkaStreamsConfiguration;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.kafka.streams.KafkaStreamsInteractiveQueryService;
+import org.springframework.kafka.support.serializer.JacksonJsonSerde;
+
+import rgonzalez.smbc.integration.model.SsnVerificationResultSummary;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Local materialized view of the compacted customer-ssn-verified-latest topic
+ * Every instance holds the latest verification of every contact in a RocksDB
+ * store on local disk, so lookups never touch PostgreSQL
+ * The store keeps a checkpoint of the topic offsets it has applied; after a
+ * restart only the records written since the checkpoint are restored
+ */
+@Configuration
+@EnableKafkaStreams
+public class LatestVerificationStoreConfig {
+
+    public static final String LATEST_VERIFICATIONS_STORE = "latest-ssn-verifications";
+
+    /**
+     * Kafka Streams configuration for the latest verification view
+     * The topology only has a global store, so no stream threads are needed;
+     * the global thread keeps the store up to date
+     */
+    @Bean(name = KafkaStreamsDefaultConfiguration.DEFAULT_STREAMS_CONFIG_BEAN_NAME)
+    public KafkaStreamsConfiguration latestVerificationStreamsConfig(KafkaProperties kafkaProperties,
+            @Value("${integration.latest-verifications.application-id:integration-service-latest-verifications}") String applicationId,
+            @Value("${integration.latest-verifications.state-dir:state/latest-verifications}") String stateDir) {
+        Map<String, Object> configProps = new HashMap<>(kafkaProperties.buildStreamsProperties());
+
+        configProps.put(StreamsConfig.APPLICATION_ID_CONFIG, applicationId);
+        configProps.put(StreamsConfig.STATE_DIR_CONFIG, stateDir);
+        configProps.put(StreamsConfig.NUM_STREAM_THREADS_CONFIG, 0);
+        configProps.putIfAbsent(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG,
+                kafkaProperties.getBootstrapServers());
+
+        return new KafkaStreamsConfiguration(configProps);
+    }
+
+    /**
+     * Materialize the compacted topic into the persistent key-value store, keyed
+     * by contact id
+     * Tombstones remove the contact from the store
+     */
+    @Bean
+    public GlobalKTable<String, SsnVerificationResultSummary> latestSsnVerifications(StreamsBuilder streamsBuilder) {
+        JacksonJsonSerde<SsnVerificationResultSummary> valueSerde =
+                new JacksonJsonSerde<>(SsnVerificationResultSummary.class)
+                        .ignoreTypeHeaders()
+                        .noTypeInfo();
+
+        return streamsBuilder.globalTable(KafkaConfig.CUSTOMER_SSN_VERIFIED_LATEST_TOPIC,
+                Consumed.with(Serdes.String(), valueSerde),
+                Materialized.<String, SsnVerificationResultSummary>as(
+                        Stores.persistentKeyValueStore(LATEST_VERIFICATIONS_STORE))
+                        .withKeySerde(Serdes.String())
+                        .withValueSerde(valueSerde));
+    }
+
+    /**
+     * Query service for the local latest verification store
+     */
+    @Bean
+    public KafkaStreamsInteractiveQueryService kafkaStreamsInteractiveQueryService(
+            StreamsBuilderFactoryBean streamsBuilderFactoryBean) {
+        return new KafkaStreamsInteractiveQueryService(streamsBuilderFactoryBean);
+    }
+}
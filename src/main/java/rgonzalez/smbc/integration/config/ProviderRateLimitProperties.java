@@ -0,0 +1,96 @@
+package rgonzalez.smbc.integration.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import rgonzalez.smbc.integration.service.VerificationSource;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Settings for the rate limiter in front of the SSN verification provider.
+ */
+@ConfigurationProperties(prefix = "integration.provider-rate-limit")
+public class ProviderRateLimitProperties {
+
+    /**
+     * Sustained provider calls per second, matching the provider quota.
+     */
+    private double permitsPerSecond = 10;
+
+    /**
+     * Number of calls that may be made back to back after an idle period.
+     */
+    private int burst = 10;
+
+    /**
+     * Maximum number of provider calls in flight. Keep at or below the
+     * ssnVerificationExecutor pool size, so waiting calls stay in the fair queue.
+     */
+    private int maxInFlight = 8;
+
+    /**
+     * Maximum number of calls waiting per source; further calls are rejected.
+     */
+    private int maxQueued = 10_000;
+
+    /**
+     * Share of the quota each source gets while several sources are waiting.
+     * Sources without a weight get 1.
+     */
+    private Map<VerificationSource, Integer> weights = new EnumMap<>(Map.of(
+            VerificationSource.REST, 8,
+            VerificationSource.CONTACTS_TOPIC, 2,
+            VerificationSource.CUSTOMER_VERIFICATIONS_TOPIC, 2,
+            VerificationSource.RETRY, 1,
+            VerificationSource.RECONCILIATION, 1));
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public void setPermitsPerSecond(double permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    public void setMaxQueued(int maxQueued) {
+        this.maxQueued = maxQueued;
+    }
+
+    public Map<VerificationSource, Integer> getWeights() {
+        return weights;
+    }
+
+    public void setWeights(Map<VerificationSource, Integer> weights) {
+        this.weights = weights;
+    }
+
+    /**
+     * Returns the weight of a source.
+     *
+     * @param source the verification source
+     * @return the configured weight, at least 1
+     */
+    public int weightOf(VerificationSource source) {
+        return Math.max(1, weights.getOrDefault(source, 1));
+    }
+}
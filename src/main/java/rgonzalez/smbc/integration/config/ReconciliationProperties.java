@@ -0,0 +1,93 @@
+package rgonzalez.smbc.integration.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the job re-driving ContactCreated events that never produced an
+ * SSN verification result.
+ */
+@ConfigurationProperties(prefix = "integration.reconciliation")
+public class ReconciliationProperties {
+
+    /**
+     * Whether the scheduled reconciliation runs.
+     */
+    private boolean enabled = false;
+
+    /**
+     * How far back each run looks for missing verification results.
+     */
+    private Duration lookback = Duration.ofHours(24);
+
+    /**
+     * Events younger than this are skipped, as their verification may still be
+     * in flight.
+     */
+    private Duration gracePeriod = Duration.ofMinutes(10);
+
+    /**
+     * Width of the created_timestamp slices the anti-join is run over.
+     */
+    private Duration window = Duration.ofHours(1);
+
+    /**
+     * Maximum number of gaps fetched per query.
+     */
+    private int pageSize = 500;
+
+    /**
+     * Maximum number of re-driven verifications in flight. Their rate is set by
+     * the reconciliation weight of integration.provider-rate-limit.
+     */
+    private int parallelism = 8;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getLookback() {
+        return lookback;
+    }
+
+    public void setLookback(Duration lookback) {
+        this.lookback = lookback;
+    }
+
+    public Duration getGracePeriod() {
+        return gracePeriod;
+    }
+
+    public void setGracePeriod(Duration gracePeriod) {
+        this.gracePeriod = gracePeriod;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+}
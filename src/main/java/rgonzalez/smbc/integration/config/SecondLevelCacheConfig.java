@@ -0,0 +1,71 @@
+package rgonzalez.smbc.integration.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import rgonzalez.smbc.integration.model.SsnVerificationResult;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level and query cache backed by bounded, local Caffeine
+ * caches through JCache.
+ * Regions are created up front with their size and TTL, and Hibernate is
+ * configured to fail on any region it does not find, so no unbounded cache is
+ * ever created implicitly. Hibernate statistics are enabled so hit and miss
+ * counts per region are exported as {@code hibernate.second.level.cache.*} and
+ * {@code hibernate.cache.query.*} actuator metrics.
+ * <p>
+ * Cached finder results are invalidated by Hibernate whenever rows are
+ * inserted into the table through JPA. Writes that bypass Hibernate, like the
+ * COPY bulk ingest, must evict the regions themselves.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+    private static final String DEFAULT_QUERY_RESULTS_REGION = "default-query-results-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(SecondLevelCacheProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        createRegion(cacheManager, SsnVerificationResult.CACHE_REGION, properties.getEntities());
+        createRegion(cacheManager, SsnVerificationResult.QUERY_CACHE_REGION, properties.getQueries());
+        createRegion(cacheManager, DEFAULT_QUERY_RESULTS_REGION, properties.getQueries());
+        // One entry per table; must never expire or query results could go stale
+        createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, new SecondLevelCacheProperties.Region(10_000, null));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    private void createRegion(CacheManager cacheManager, String name, SecondLevelCacheProperties.Region region) {
+        if (cacheManager.getCache(name) != null) {
+            return;
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(region.getMaximumSize()));
+        if (region.getTtl() != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(region.getTtl().toNanos()));
+        }
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(name, configuration);
+    }
+}
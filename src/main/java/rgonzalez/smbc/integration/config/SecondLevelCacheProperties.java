@@ -0,0 +1,77 @@
+package rgonzalez.smbc.integration.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Bounds of the Hibernate second-level cache regions for SSN verification
+ * results.
+ */
+@ConfigurationProperties(prefix = "integration.cache.ssn-verification-results")
+public class SecondLevelCacheProperties {
+
+    /**
+     * Entity region holding verification results by id.
+     */
+    private Region entities = new Region(10_000, Duration.ofHours(1));
+
+    /**
+     * Query region holding the pages of the per-contact and per-SSN result
+     * summary queries.
+     */
+    private Region queries = new Region(5_000, Duration.ofMinutes(10));
+
+    public Region getEntities() {
+        return entities;
+    }
+
+    public void setEntities(Region entities) {
+        this.entities = entities;
+    }
+
+    public Region getQueries() {
+        return queries;
+    }
+
+    public void setQueries(Region queries) {
+        this.queries = queries;
+    }
+
+    public static class Region {
+
+        /**
+         * Maximum number of entries kept in the region.
+         */
+        private long maximumSize;
+
+        /**
+         * Time after which an entry expires once written.
+         */
+        private Duration ttl;
+
+        public Region() {
+        }
+
+        public Region(long maximumSize, Duration ttl) {
+            this.maximumSize = maximumSize;
+            this.ttl = ttl;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package rgonzalez.smbc.integration.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings for the local overflow log of contact verifications waiting for
+ * the provider rate limiter.
+ */
+@ConfigurationProperties(prefix = "integration.verification-overflow")
+public class VerificationOverflowProperties {
+
+    /**
+     * Whether verifications overflow to the local log while the rate limiter
+     * queue of their source is full. When disabled they are rejected and queued
+     * for retry.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory of the log segments and the checkpoint of the consumed position.
+     * Must be on a persistent volume, not in the container file system, for
+     * spilled verifications to survive a pod being rescheduled: their Kafka
+     * offsets are already committed.
+     */
+    private String directory = "state/verification-overflow";
+
+    /**
+     * Size of each memory-mapped segment file. A segment is deleted once all of
+     * its verifications were submitted and completed.
+     */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Maximum size of the verifications pending in the log; further
+     * verifications are rejected and queued for retry.
+     */
+    private DataSize maxSize = DataSize.ofGigabytes(4);
+
+    /**
+     * How often the log is forced to disk. Verifications spilled since the last
+     * force are lost if the host crashes, though not if only the process does.
+     */
+    private Duration forceInterval = Duration.ofSeconds(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public DataSize getSegmentSize() {
+        return segmentSize;
+    }
+
+    public void setSegmentSize(DataSize segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Duration getForceInterval() {
+        return forceInterval;
+    }
+
+    public void setForceInterval(Duration forceInterval) {
+        this.forceInterval = forceInterval;
+    }
+}
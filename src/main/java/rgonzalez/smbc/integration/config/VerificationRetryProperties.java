@@ -0,0 +1,117 @@
+package rgonzalez.smbc.integration.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the durable retry queue of failed contact SSN verifications.
+ */
+@ConfigurationProperties(prefix = "integration.verification-retry")
+public class VerificationRetryProperties {
+
+    /**
+     * Whether this instance runs retry workers. Failed verifications are queued
+     * either way.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of due retries claimed per poll.
+     */
+    private int batchSize = 20;
+
+    /**
+     * Maximum number of retries in flight on this instance.
+     */
+    private int concurrency = 4;
+
+    /**
+     * Delay before the first retry; doubled after every failed attempt.
+     */
+    private Duration initialBackoff = Duration.ofSeconds(30);
+
+    /**
+     * Upper bound of the delay between attempts.
+     */
+    private Duration maxBackoff = Duration.ofHours(1);
+
+    /**
+     * Number of attempts after which a retry is marked DEAD.
+     */
+    private int maxAttempts = 10;
+
+    /**
+     * How long a claimed retry stays invisible to other workers. Must be longer
+     * than a verification takes.
+     */
+    private Duration lease = Duration.ofMinutes(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public void setInitialBackoff(Duration initialBackoff) {
+        this.initialBackoff = initialBackoff;
+    }
+
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public void setMaxBackoff(Duration maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public Duration getLease() {
+        return lease;
+    }
+
+    public void setLease(Duration lease) {
+        this.lease = lease;
+    }
+
+    /**
+     * Returns the delay before the next attempt.
+     *
+     * @param attempts number of attempts made so far
+     * @return the exponential backoff, capped at {@link #getMaxBackoff()}
+     */
+    public Duration backoffAfter(int attempts) {
+        int doublings = Math.max(0, Math.min(attempts, 31));
+        Duration backoff = initialBackoff.multipliedBy(1L << doublings);
+        return backoff.compareTo(maxBackoff) > 0 || backoff.isNegative() ? maxBackoff : backoff;
+    }
+}
@@ -0,0 +1,81 @@
+package rgonzalez.smbc.integration.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the JIT warm-up run before the contacts listener joins the
+ * consumer group.
+ */
+@ConfigurationProperties(prefix = "integration.warm-up")
+public class WarmUpProperties {
+
+    /**
+     * Whether synthetic events are run through the pipeline before the contacts
+     * listener starts. The instance is not ready until the warm-up is done.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Synthetic events processed per round.
+     */
+    private int roundSize = 1000;
+
+    /**
+     * JIT compilation time per round at or below which a round counts as
+     * settled.
+     */
+    private Duration settleThreshold = Duration.ofMillis(10);
+
+    /**
+     * Consecutive settled rounds that end the warm-up.
+     */
+    private int settledRounds = 3;
+
+    /**
+     * Upper bound of the warm-up, after which the listener starts even if
+     * compilation has not settled.
+     */
+    private Duration maxDuration = Duration.ofSeconds(60);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getRoundSize() {
+        return roundSize;
+    }
+
+    public void setRoundSize(int roundSize) {
+        this.roundSize = roundSize;
+    }
+
+    public Duration getSettleThreshold() {
+        return settleThreshold;
+    }
+
+    public void setSettleThreshold(Duration settleThreshold) {
+        this.settleThreshold = settleThreshold;
+    }
+
+    public int getSettledRounds() {
+        return settledRounds;
+    }
+
+    public void setSettledRounds(int settledRounds) {
+        this.settledRounds = settledRounds;
+    }
+
+    public Duration getMaxDuration() {
+        return maxDuration;
+    }
+
+    public void setMaxDuration(Duration maxDuration) {
+        this.maxDuration = maxDuration;
+    }
+}
@@ -9,6 +9,8 @@ import org.springframework.web.bind.annotation.*;
 import rgonzalez.smbc.integration.service.SsnVerificationService;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * REST Controller for SSN verification operations.
@@ -44,10 +46,7 @@ public class SsnVerificationController {
                     logger.info("SSN verification completed with result: {}", result.status());
                     return ResponseEntity.ok(result);
                 })
-                .exceptionally(ex -> {
-                    logger.error("Error during SSN verification", ex);
-                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-                });
+                .exceptionally(this::failed);
     }
 
     /**
@@ -69,10 +68,7 @@ public class SsnVerificationController {
                     logger.info("SSN verification completed with result: {}", result.status());
                     return ResponseEntity.ok(result);
                 })
-                .exceptionally(ex -> {
-                    logger.error("Error during SSN verification", ex);
-                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-                });
+                .exceptionally(this::failed);
     }
 
     /**
@@ -84,4 +80,18 @@ public class SsnVerificationController {
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("SSN Verification Service is running");
     }
+
+    /**
+     * Map a failed verification to 429 when the provider queue is full, 500
+     * otherwise.
+     */
+    private ResponseEntity<SsnVerificationService.SsnVerificationResult> failed(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        if (cause instanceof RejectedExecutionException) {
+            logger.warn("SSN verification rejected: {}", cause.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+        logger.error("Error during SSN verification", ex);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    }
 }
@@ -0,0 +1,96 @@
+package rgonzalez.smbc.integration.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import rgonzalez.smbc.integration.model.KeysetPage;
+import rgonzalez.smbc.integration.model.SsnVerificationResultSummary;
+import rgonzalez.smbc.integration.service.LatestSsnVerificationService;
+import rgonzalez.smbc.integration.service.SsnVerificationResultQueryService;
+
+import java.util.stream.Stream;
+
+/**
+ * REST Controller for querying persisted SSN verification results.
+ * Results are returned as lightweight summaries, newest first, with keyset
+ * pagination. The latest result of a contact is served from the local
+ * materialized view without querying the database.
+ */
+@RestController
+@RequestMapping("/api/v1/ssn-verification")
+public class SsnVerificationResultQueryController {
+
+    private static final Logger logger = LoggerFactory.getLogger(SsnVerificationResultQueryController.class);
+
+    @Autowired
+    private SsnVerificationResultQueryService ssnVerificationResultQueryService;
+
+    @Autowired
+    private LatestSsnVerificationService latestSsnVerificationService;
+
+    /**
+     * Query verification results by exactly one of contact id, SSN, status or
+     * matching flag.
+     *
+     * @param contactId the contact ID
+     * @param ssn       the social security number
+     * @param status    the verification status
+     * @param matching  the matching status
+     * @param cursor    the nextCursor of the previous page, omitted for the first
+     *                  page
+     * @param limit     page size (1-500)
+     * @return a page of result summaries
+     */
+    @GetMapping("/results")
+    public ResponseEntity<KeysetPage<SsnVerificationResultSummary>> findResults(
+            @RequestParam(required = false) String contactId,
+            @RequestParam(required = false) String ssn,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Boolean matching,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+
+        long filters = Stream.of(contactId, ssn, status, matching).filter(value -> value != null).count();
+        if (filters != 1) {
+            logger.warn("Rejected result query with {} filters", filters);
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            KeysetPage<SsnVerificationResultSummary> page;
+            if (contactId != null) {
+                page = ssnVerificationResultQueryService.findByContactId(contactId, cursor, limit);
+            } else if (ssn != null) {
+                page = ssnVerificationResultQueryService.findBySsn(ssn, cursor, limit);
+            } else if (status != null) {
+                page = ssnVerificationResultQueryService.findByStatus(status, cursor, limit);
+            } else {
+                page = ssnVerificationResultQueryService.findByMatching(matching, cursor, limit);
+            }
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected result query: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Get the latest verification result of a contact.
+     *
+     * @param contactId the contact ID
+     * @return the latest result summary, 404 if the contact has none, or 503
+     *         while the local store is being restored
+     */
+    @GetMapping("/contacts/{contactId}/latest")
+    public ResponseEntity<SsnVerificationResultSummary> findLatest(@PathVariable String contactId) {
+        try {
+            return ResponseEntity.of(latestSsnVerificationService.findLatest(contactId));
+        } catch (IllegalStateException e) {
+            logger.warn("Latest verification lookup unavailable: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+}
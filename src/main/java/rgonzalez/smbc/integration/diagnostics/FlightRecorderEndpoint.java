@@ -0,0 +1,189 @@
+package rgonzalez.smbc.integration.diagnostics;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Actuator endpoint to profile the running service with Java Flight Recorder,
+ * without restarting it with extra JVM flags.
+ * <ul>
+ * <li>{@code POST /actuator/jfr} starts a recording with a JFR configuration
+ * ({@code default} or {@code profile}) for a duration</li>
+ * <li>{@code GET /actuator/jfr} returns the state of the recording and, once it
+ * has stopped, the top allocation sites, lock contention and hot methods in
+ * the service's own classes</li>
+ * <li>{@code DELETE /actuator/jfr} stops the recording early</li>
+ * <li>{@code GET /actuator/jfr/{id}} downloads the .jfr file, or answers 409
+ * while the recording is still running</li>
+ * </ul>
+ * One recording runs at a time, and only the file of the latest recording is
+ * kept. Like the other actuator endpoints it requires an authenticated user.
+ */
+@Component
+@WebEndpoint(id = "jfr")
+public class FlightRecorderEndpoint implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecorderEndpoint.class);
+
+    private static final String APPLICATION_PACKAGE = "rgonzalez.smbc.integration";
+
+    private final Path directory;
+    private final Duration maxDuration;
+    private final int topSites;
+
+    private Recording recording;
+    private String profile;
+    private Path file;
+    private FlightRecordingSummary summary;
+
+    public FlightRecorderEndpoint(
+            @Value("${integration.diagnostics.jfr.directory:diagnostics/jfr}") String directory,
+            @Value("${integration.diagnostics.jfr.max-duration:15m}") Duration maxDuration,
+            @Value("${integration.diagnostics.jfr.top-sites:10}") int topSites) {
+        this.directory = Path.of(directory).toAbsolutePath().normalize();
+        this.maxDuration = maxDuration;
+        this.topSites = topSites;
+    }
+
+    @WriteOperation
+    public synchronized RecordingStatus start(@Nullable String profile, @Nullable Duration duration)
+            throws IOException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new InvalidEndpointRequestException("Recording " + recording.getId() + " is still running",
+                    "Recording running");
+        }
+        String configurationName = profile == null ? "profile" : profile;
+        Duration recordingDuration = duration == null ? Duration.ofMinutes(1) : duration;
+        if (recordingDuration.isNegative() || recordingDuration.isZero()
+                || recordingDuration.compareTo(maxDuration) > 0) {
+            throw new InvalidEndpointRequestException("Duration must be positive and at most " + maxDuration,
+                    "Invalid duration");
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(configurationName);
+        } catch (IOException | ParseException e) {
+            throw new InvalidEndpointRequestException("Unknown JFR configuration " + configurationName
+                    + ", expected default or profile", "Invalid profile");
+        }
+
+        discardPrevious();
+        Files.createDirectories(directory);
+        Recording started = new Recording(configuration);
+        Path destination = directory.resolve("integration-" + started.getId() + ".jfr");
+        started.setName("integration-" + started.getId());
+        started.setToDisk(true);
+        started.setDuration(recordingDuration);
+        started.setDestination(destination);
+        started.start();
+
+        this.recording = started;
+        this.profile = configurationName;
+        this.file = destination;
+        logger.info("Started flight recording {} with the {} configuration for {}", started.getId(),
+                configurationName, recordingDuration);
+        return status();
+    }
+
+    @ReadOperation
+    public synchronized @Nullable RecordingStatus status() {
+        if (recording == null) {
+            return null;
+        }
+        RecordingState state = recording.getState();
+        if (summary == null && (state == RecordingState.STOPPED || state == RecordingState.CLOSED)
+                && Files.exists(file)) {
+            try {
+                summary = FlightRecordingSummary.of(file, APPLICATION_PACKAGE, topSites);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read flight recording " + file, e);
+            }
+        }
+        return new RecordingStatus(recording.getId(), profile, state.name(), recording.getStartTime(),
+                recording.getDuration(), fileSize(), summary);
+    }
+
+    @DeleteOperation
+    public synchronized @Nullable RecordingStatus stop() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            logger.info("Stopped flight recording {}", recording.getId());
+        }
+        return status();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> download(@Selector long id) {
+        if (recording == null || recording.getId() != id || !Files.exists(file)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording.getState() != RecordingState.STOPPED && recording.getState() != RecordingState.CLOSED) {
+            return new WebEndpointResponse<>(HttpStatus.CONFLICT.value());
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(file));
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    private void discardPrevious() throws IOException {
+        if (recording != null) {
+            recording.close();
+            Files.deleteIfExists(file);
+        }
+        recording = null;
+        profile = null;
+        file = null;
+        summary = null;
+    }
+
+    private long fileSize() {
+        try {
+            return Files.exists(file) ? Files.size(file) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * @param id        recording id, used to download the file
+     * @param profile   JFR configuration the recording runs with
+     * @param state     NEW, DELAYED, RUNNING, STOPPED or CLOSED
+     * @param startTime when the recording started
+     * @param duration  how long the recording runs
+     * @param fileSize  size of the .jfr file once written, in bytes
+     * @param summary   hot spots in the service's classes, once stopped
+     */
+    public record RecordingStatus(long id, String profile, String state, Instant startTime, Duration duration,
+            long fileSize, @Nullable FlightRecordingSummary summary) {
+    }
+}
@@ -0,0 +1,143 @@
+package rgonzalez.smbc.integration.diagnostics;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hot spots of a flight recording, attributed to the first stack frame in the
+ * application's own classes.
+ * Events without an application frame in their recorded stack (JFR keeps 64
+ * frames by default) are left out.
+ *
+ * @param allocationSites sampled allocation weight per allocating frame
+ * @param contentionSites time threads blocked on monitors or parked, per frame
+ *                        and lock class
+ * @param hotMethods      execution samples per frame
+ */
+public record FlightRecordingSummary(
+        List<AllocationSite> allocationSites,
+        List<ContentionSite> contentionSites,
+        List<HotMethod> hotMethods) {
+
+    /**
+     * Summarize a recording.
+     *
+     * @param file          the .jfr file
+     * @param packagePrefix package of the application classes, e.g.
+     *                      {@code rgonzalez.smbc.integration}
+     * @param top           number of entries to keep per list
+     */
+    public static FlightRecordingSummary of(Path file, String packagePrefix, int top) throws IOException {
+        Map<String, long[]> allocations = new HashMap<>();
+        Map<String, long[]> contention = new HashMap<>();
+        Map<String, long[]> samples = new HashMap<>();
+
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                String frame = applicationFrame(event.getStackTrace(), packagePrefix);
+                if (frame == null) {
+                    continue;
+                }
+                switch (event.getEventType().getName()) {
+                    case "jdk.ObjectAllocationSample" -> add(allocations, frame, event.getLong("weight"));
+                    case "jdk.JavaMonitorEnter" -> add(contention,
+                            frame + " " + className(event.getClass("monitorClass")),
+                            event.getDuration().toNanos());
+                    case "jdk.ThreadPark" -> add(contention,
+                            frame + " " + className(event.getClass("parkedClass")),
+                            event.getDuration().toNanos());
+                    case "jdk.ExecutionSample" -> add(samples, frame, 0);
+                    default -> {
+                    }
+                }
+            }
+        }
+
+        return new FlightRecordingSummary(
+                top(allocations, top).stream()
+                        .map(e -> new AllocationSite(e.getKey(), e.getValue()[0], e.getValue()[1]))
+                        .toList(),
+                top(contention, top).stream()
+                        .map(e -> {
+                            int separator = e.getKey().lastIndexOf(' ');
+                            return new ContentionSite(e.getKey().substring(0, separator),
+                                    e.getKey().substring(separator + 1), e.getValue()[0],
+                                    e.getValue()[1] / 1_000_000.0);
+                        })
+                        .toList(),
+                samples.entrySet().stream()
+                        .sorted(Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[0]).reversed())
+                        .limit(top)
+                        .map(e -> new HotMethod(e.getKey(), e.getValue()[0]))
+                        .toList());
+    }
+
+    private static String applicationFrame(RecordedStackTrace stackTrace, String packagePrefix) {
+        if (stackTrace == null) {
+            return null;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(packagePrefix)) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        return null;
+    }
+
+    private static String className(RecordedClass recordedClass) {
+        return recordedClass == null ? "unknown" : recordedClass.getName();
+    }
+
+    // Values are {events, total}
+    private static void add(Map<String, long[]> totals, String key, long value) {
+        long[] total = totals.computeIfAbsent(key, k -> new long[2]);
+        total[0]++;
+        total[1] += value;
+    }
+
+    private static List<Map.Entry<String, long[]>> top(Map<String, long[]> totals, int top) {
+        return totals.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[1]).reversed())
+                .limit(top)
+                .toList();
+    }
+
+    /**
+     * @param frame   allocating frame
+     * @param samples allocation samples
+     * @param bytes   estimated bytes allocated
+     */
+    public record AllocationSite(String frame, long samples, long bytes) {
+    }
+
+    /**
+     * @param frame       blocked frame
+     * @param lockClass   class of the monitor or of the object parked on
+     * @param events      contention events above the JFR threshold
+     * @param totalMillis time blocked
+     */
+    public record ContentionSite(String frame, String lockClass, long events, double totalMillis) {
+    }
+
+    /**
+     * @param frame   sampled frame
+     * @param samples execution samples
+     */
+    public record HotMethod(String frame, long samples) {
+    }
+}
@@ -0,0 +1,103 @@
+package rgonzalez.smbc.integration.executor;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+import rgonzalez.smbc.integration.executor.ResizableTaskExecutor.Saturation;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Actuator endpoint to inspect and tune the {@link ResizableTaskExecutor}
+ * beans at runtime, by bean name. Changes apply to the running pools, so a
+ * traffic spike can be absorbed without a restart, and are lost on restart;
+ * persist them in the integration.executors properties.
+ */
+@Component
+@Endpoint(id = "executors")
+public class ExecutorsEndpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutorsEndpoint.class);
+
+    private final Map<String, ResizableTaskExecutor> executors;
+
+    public ExecutorsEndpoint(Map<String, ResizableTaskExecutor> executors) {
+        this.executors = new TreeMap<>(executors);
+    }
+
+    @ReadOperation
+    public Map<String, ExecutorStatus> executors() {
+        Map<String, ExecutorStatus> statuses = new TreeMap<>();
+        executors.forEach((name, executor) -> statuses.put(name, ExecutorStatus.of(executor)));
+        return statuses;
+    }
+
+    @ReadOperation
+    public @Nullable ExecutorStatus executor(@Selector String name) {
+        ResizableTaskExecutor executor = executors.get(name);
+        return executor == null ? null : ExecutorStatus.of(executor);
+    }
+
+    /**
+     * Resize an executor or change its rejection policy. Omitted settings keep
+     * their current value.
+     */
+    @WriteOperation
+    public @Nullable ExecutorStatus update(@Selector String name, @Nullable Integer corePoolSize,
+            @Nullable Integer maxPoolSize, @Nullable Integer queueCapacity,
+            @Nullable RejectionPolicy rejectionPolicy, @Nullable Duration blockTimeout) {
+        ResizableTaskExecutor executor = executors.get(name);
+        if (executor == null) {
+            return null;
+        }
+        ExecutorStatus before = ExecutorStatus.of(executor);
+        try {
+            synchronized (executor) {
+                executor.resize(corePoolSize != null ? corePoolSize : executor.getCorePoolSize(),
+                        maxPoolSize != null ? maxPoolSize : executor.getMaxPoolSize(),
+                        queueCapacity != null ? queueCapacity : executor.getQueueCapacity());
+                executor.setRejectionPolicy(rejectionPolicy != null ? rejectionPolicy : executor.getRejectionPolicy(),
+                        blockTimeout != null ? blockTimeout : executor.getBlockTimeout());
+            }
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), "Invalid executor settings");
+        }
+        ExecutorStatus after = ExecutorStatus.of(executor);
+        logger.info("Executor [{}] changed from core {}, max {}, queue {}, {} to core {}, max {}, queue {}, {}", name,
+                before.corePoolSize(), before.maxPoolSize(), before.queueCapacity(), before.rejectionPolicy(),
+                after.corePoolSize(), after.maxPoolSize(), after.queueCapacity(), after.rejectionPolicy());
+        return after;
+    }
+
+    /**
+     * Settings and load of an executor. The saturation counts are the tasks
+     * that found every thread busy and the queue full since startup, by
+     * outcome.
+     */
+    public record ExecutorStatus(int corePoolSize, int maxPoolSize, int poolSize, int largestPoolSize,
+            int activeCount, int queueSize, int queueCapacity, long completedTaskCount,
+            RejectionPolicy rejectionPolicy, Duration blockTimeout, Map<Saturation, Long> saturation) {
+
+        static ExecutorStatus of(ResizableTaskExecutor executor) {
+            ThreadPoolExecutor pool = executor.getThreadPoolExecutor();
+            Map<Saturation, Long> saturation = new EnumMap<>(Saturation.class);
+            for (Saturation outcome : Saturation.values()) {
+                saturation.put(outcome, executor.getSaturationCount(outcome));
+            }
+            return new ExecutorStatus(pool.getCorePoolSize(), pool.getMaximumPoolSize(), pool.getPoolSize(),
+                    pool.getLargestPoolSize(), pool.getActiveCount(), pool.getQueue().size(),
+                    executor.getQueueCapacity(), pool.getCompletedTaskCount(), executor.getRejectionPolicy(),
+                    executor.getBlockTimeout(), saturation);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package rgonzalez.smbc.integration.executor;
+
+/**
+ * What a {@link ResizableTaskExecutor} does with a task submitted while all
+ * threads are busy and the queue is full.
+ */
+public enum RejectionPolicy {
+    /**
+     * Reject the task with a {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    ABORT,
+    /**
+     * Run the task on the submitting thread, slowing the submitter down to the
+     * pace of the pool.
+     */
+    CALLER_RUNS,
+    /**
+     * Block the submitting thread until the queue has room, up to the block
+     * timeout, then reject the task.
+     */
+    BLOCK
+}
@@ -0,0 +1,190 @@
+package rgonzalez.smbc.integration.executor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import rgonzalez.smbc.integration.config.ExecutorProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ThreadPoolTaskExecutor} whose pool sizes, queue capacity and
+ * rejection policy can be changed while it runs.
+ * Tasks submitted while the pool is saturated are handled by the current
+ * {@link RejectionPolicy} and counted in the
+ * {@code integration.executor.saturation} counter, tagged with the executor
+ * name and the outcome.
+ */
+public class ResizableTaskExecutor extends ThreadPoolTaskExecutor {
+
+    private final String name;
+    private final Map<Saturation, Counter> saturationCounters = new EnumMap<>(Saturation.class);
+
+    private volatile RejectionPolicy rejectionPolicy;
+    private volatile Duration blockTimeout;
+    private ResizableTaskQueue queue;
+
+    public ResizableTaskExecutor(String name, ExecutorProperties.Pool pool, MeterRegistry meterRegistry) {
+        this.name = name;
+        setCorePoolSize(pool.getCorePoolSize());
+        setMaxPoolSize(pool.getMaxPoolSize());
+        setQueueCapacity(pool.getQueueCapacity());
+        setRejectionPolicy(pool.getRejectionPolicy(), pool.getBlockTimeout());
+        setRejectedExecutionHandler(this::saturated);
+        for (Saturation saturation : Saturation.values()) {
+            saturationCounters.put(saturation, Counter.builder("integration.executor.saturation")
+                    .description("Tasks submitted while all threads were busy and the queue was full")
+                    .tag("name", name)
+                    .tag("outcome", saturation.tag())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected BlockingQueue<Runnable> createQueue(int queueCapacity) {
+        queue = new ResizableTaskQueue(queueCapacity);
+        return queue;
+    }
+
+    /**
+     * Resize the running pool. Threads above the new core size stop once they
+     * are idle; tasks above a lowered queue capacity stay queued.
+     *
+     * @param corePoolSize  the new core pool size, at least 1
+     * @param maxPoolSize   the new max pool size, at least the core pool size
+     * @param queueCapacity the new queue capacity, at least 1
+     * @throws IllegalArgumentException if the sizes are inconsistent
+     */
+    public synchronized void resize(int corePoolSize, int maxPoolSize, int queueCapacity) {
+        if (corePoolSize < 1 || maxPoolSize < corePoolSize) {
+            throw new IllegalArgumentException("Expected 1 <= corePoolSize <= maxPoolSize, got " + corePoolSize
+                    + " and " + maxPoolSize);
+        }
+        queue.setCapacity(queueCapacity);
+        // The pool never allows core above max, even in between the two calls
+        if (corePoolSize > getMaxPoolSize()) {
+            setMaxPoolSize(maxPoolSize);
+            setCorePoolSize(corePoolSize);
+        } else {
+            setCorePoolSize(corePoolSize);
+            setMaxPoolSize(maxPoolSize);
+        }
+    }
+
+    /**
+     * Change how tasks submitted to a saturated pool are handled.
+     *
+     * @param rejectionPolicy the new policy
+     * @param blockTimeout    how long the BLOCK policy waits for queue space
+     */
+    public void setRejectionPolicy(RejectionPolicy rejectionPolicy, Duration blockTimeout) {
+        if (blockTimeout.isNegative()) {
+            throw new IllegalArgumentException("Block timeout must not be negative");
+        }
+        this.blockTimeout = blockTimeout;
+        this.rejectionPolicy = rejectionPolicy;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return queue != null ? queue.capacity() : super.getQueueCapacity();
+    }
+
+    public RejectionPolicy getRejectionPolicy() {
+        return rejectionPolicy;
+    }
+
+    public Duration getBlockTimeout() {
+        return blockTimeout;
+    }
+
+    /**
+     * Returns how many tasks met a saturated pool, by outcome.
+     *
+     * @param saturation the outcome
+     * @return the number of tasks since startup
+     */
+    public long getSaturationCount(Saturation saturation) {
+        return (long) saturationCounters.get(saturation).count();
+    }
+
+    private void saturated(Runnable task, ThreadPoolExecutor executor) {
+        if (!executor.isShutdown()) {
+            switch (rejectionPolicy) {
+                case CALLER_RUNS -> {
+                    saturationCounters.get(Saturation.CALLER_RUNS).increment();
+                    task.run();
+                    return;
+                }
+                case BLOCK -> {
+                    if (block(task, executor)) {
+                        saturationCounters.get(Saturation.BLOCKED).increment();
+                        return;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        saturationCounters.get(Saturation.REJECTED).increment();
+        throw new RejectedExecutionException("Executor [" + name + "] is saturated: " + executor.getActiveCount()
+                + " active thread(s) of " + executor.getMaximumPoolSize() + ", " + queue.size()
+                + " queued task(s) of " + queue.capacity());
+    }
+
+    private boolean block(Runnable task, ThreadPoolExecutor executor) {
+        try {
+            if (!queue.offer(task, blockTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        // The pool may have shut down while we waited; its workers would never
+        // take the task
+        return !executor.isShutdown() || !queue.remove(task);
+    }
+
+    /**
+     * What happened to a task submitted to a saturated pool.
+     */
+    public enum Saturation {
+
+        /**
+         * Run on the submitting thread by the CALLER_RUNS policy.
+         */
+        CALLER_RUNS("caller-runs"),
+
+        /**
+         * Queued by the BLOCK policy once room was made.
+         */
+        BLOCKED("blocked"),
+
+        /**
+         * Rejected by the ABORT policy, or by the BLOCK policy after the block
+         * timeout.
+         */
+        REJECTED("rejected");
+
+        private final String tag;
+
+        Saturation(String tag) {
+            this.tag = tag;
+        }
+
+        public String tag() {
+            return tag;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package rgonzalez.smbc.integration.executor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Work queue whose capacity can be changed while the pool is running.
+ * The capacity is enforced with a semaphore holding one permit per free slot:
+ * inserts take a permit, removals give it back. Lowering the capacity below
+ * the current size keeps the queued tasks and refuses new ones until enough
+ * have been taken.
+ */
+final class ResizableTaskQueue extends LinkedBlockingQueue<Runnable> {
+
+    private final Slots slots;
+    private int capacity;
+
+    ResizableTaskQueue(int capacity) {
+        checkCapacity(capacity);
+        this.capacity = capacity;
+        this.slots = new Slots(capacity);
+    }
+
+    synchronized int capacity() {
+        return capacity;
+    }
+
+    synchronized void setCapacity(int capacity) {
+        checkCapacity(capacity);
+        int delta = capacity - this.capacity;
+        if (delta > 0) {
+            slots.release(delta);
+        } else if (delta < 0) {
+            slots.reduce(-delta);
+        }
+        this.capacity = capacity;
+    }
+
+    @Override
+    public boolean offer(Runnable task) {
+        Objects.requireNonNull(task);
+        return slots.tryAcquire() && super.offer(task);
+    }
+
+    @Override
+    public boolean offer(Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(task);
+        return slots.tryAcquire(timeout, unit) && super.offer(task);
+    }
+
+    @Override
+    public void put(Runnable task) throws InterruptedException {
+        Objects.requireNonNull(task);
+        slots.acquire();
+        super.put(task);
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        return released(super.take());
+    }
+
+    @Override
+    public Runnable poll() {
+        return released(super.poll());
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return released(super.poll(timeout, unit));
+    }
+
+    @Override
+    public boolean remove(Object task) {
+        if (super.remove(task)) {
+            slots.release();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super Runnable> filter) {
+        int[] removed = new int[1];
+        boolean changed = super.removeIf(task -> {
+            if (filter.test(task)) {
+                removed[0]++;
+                return true;
+            }
+            return false;
+        });
+        slots.release(removed[0]);
+        return changed;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> tasks) {
+        return removeIf(tasks::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> tasks) {
+        return removeIf(task -> !tasks.contains(task));
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> tasks) {
+        return drainTo(tasks, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> tasks, int maxElements) {
+        int drained = super.drainTo(tasks, maxElements);
+        slots.release(drained);
+        return drained;
+    }
+
+    @Override
+    public void clear() {
+        drainTo(new ArrayList<>());
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Math.max(0, slots.availablePermits());
+    }
+
+    private Runnable released(Runnable task) {
+        if (task != null) {
+            slots.release();
+        }
+        return task;
+    }
+
+    private static void checkCapacity(int capacity) {
+        // Idle threads wait on the queue, so a queue without room would start a
+        // new thread, or reject, even while threads are idle
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be at least 1");
+        }
+    }
+
+    private static final class Slots extends Semaphore {
+
+        Slots(int permits) {
+            super(permits);
+        }
+
+        void reduce(int permits) {
+            reducePermits(permits);
+        }
+    }
+}
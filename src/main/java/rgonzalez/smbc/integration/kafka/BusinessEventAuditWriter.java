@@ -0,0 +1,264 @@
+package rgonzalez.smbc.integration.kafka;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rgonzalez.smbc.integration.metrics.PipelineMetrics;
+import rgonzalez.smbc.integration.metrics.PipelineStage;
+import rgonzalez.smbc.integration.model.BusinessEvent;
+import rgonzalez.smbc.integration.repository.BusinessEventRepository;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Write-behind persistence of inbound business events.
+ * The listener appends each processed event together with its Kafka
+ * acknowledgment to a bounded ring buffer. A dedicated writer thread drains the
+ * buffer and saves events in group commits, flushing when a batch is full or
+ * the linger time has passed, and only then acknowledges the records. Offsets
+ * are therefore committed only for durably stored events, keeping the
+ * at-least-once guarantee without a database commit per message on the
+ * consumer thread. When the buffer is full the listener blocks, applying
+ * backpressure to the consumer.
+ * A batch that still fails after {@code integration.audit.max-attempts} is
+ * saved one event at a time; an event rejected by the database for good (a
+ * constraint violation, a value too long for its column) is logged and
+ * acknowledged past, like the listener's error handler skips a record after its
+ * retries, so a single bad event cannot stall the consumer.
+ * On shutdown the {@link KafkaListenerDrain} stops the writer while the
+ * listener containers are paused but still running, so the acknowledgments of
+ * the last flush are committed by the containers as they stop.
+ */
+@Component
+public class BusinessEventAuditWriter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(BusinessEventAuditWriter.class);
+
+    /**
+     * Start before the Kafka listener containers. The {@link KafkaListenerDrain}
+     * stops the writer before them.
+     */
+    public static final int PHASE = Integer.MAX_VALUE - 200;
+
+    private final BusinessEventRepository businessEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final PipelineMetrics pipelineMetrics;
+    private final BlockingQueue<PendingAudit> buffer;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final long retryBackoffMillis;
+    private final int maxAttempts;
+    private final AtomicInteger unacknowledged = new AtomicInteger();
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public BusinessEventAuditWriter(BusinessEventRepository businessEventRepository,
+            PlatformTransactionManager transactionManager,
+            PipelineMetrics pipelineMetrics,
+            @Value("${integration.audit.buffer-capacity:1024}") int bufferCapacity,
+            @Value("${integration.audit.batch-size:100}") int batchSize,
+            @Value("${integration.audit.linger-ms:20}") long lingerMillis,
+            @Value("${integration.audit.retry-backoff-ms:1000}") long retryBackoffMillis,
+            @Value("${integration.audit.max-attempts:3}") int maxAttempts) {
+        this.businessEventRepository = businessEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pipelineMetrics = pipelineMetrics;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Queue an event for persistence. The acknowledgment is invoked once the
+     * event has been committed to the database.
+     *
+     * @param event          the business event to persist
+     * @param acknowledgment the Kafka acknowledgment of the record, may be null
+     * @throws InterruptedException if interrupted while waiting for buffer space
+     */
+    public void append(BusinessEvent event, Acknowledgment acknowledgment) throws InterruptedException {
+        if (!running) {
+            throw new IllegalStateException("Business event audit writer is not running");
+        }
+        event.setId(null);
+        unacknowledged.incrementAndGet();
+        try {
+            buffer.put(new PendingAudit(event, acknowledgment));
+        } catch (InterruptedException e) {
+            unacknowledged.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the number of events waiting to be flushed
+     */
+    public int pending() {
+        return buffer.size();
+    }
+
+    /**
+     * @return the number of appended events not yet persisted and acknowledged,
+     *         including the batch being flushed
+     */
+    public int unacknowledged() {
+        return unacknowledged.get();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::writeLoop, "business-event-audit-writer");
+        writerThread.setDaemon(false);
+        writerThread.start();
+        logger.info("Business event audit writer started (batchSize={}, lingerMs={})", batchSize,
+                TimeUnit.NANOSECONDS.toMillis(lingerNanos));
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Business event audit writer stopped with {} unflushed event(s)", buffer.size());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void writeLoop() {
+        List<PendingAudit> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                PendingAudit first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingAudit next = remaining > 0 ? buffer.poll(remaining, TimeUnit.NANOSECONDS) : buffer.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flushWithRetry(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Flush a batch, retrying it as a whole up to {@code maxAttempts} times and
+     * then one event at a time. Records are never acknowledged out of order, so
+     * a batch failing for a transient reason holds back later ones and the
+     * bounded buffer pushes back on the consumer. On shutdown the rest of the
+     * batch is abandoned unacknowledged and redelivered after restart.
+     */
+    private void flushWithRetry(List<PendingAudit> batch) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                if (attempt <= maxAttempts) {
+                    flush(batch);
+                } else {
+                    flushIndividually(batch);
+                }
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Failed to persist batch of {} business event(s) (attempt {}): {}", batch.size(),
+                        attempt, e.getMessage(), e);
+                if (!running) {
+                    logger.warn("Abandoning {} unacknowledged business event(s) on shutdown", batch.size());
+                    unacknowledged.addAndGet(-batch.size());
+                    return;
+                }
+                Thread.sleep(retryBackoffMillis);
+            }
+        }
+    }
+
+    private void flush(List<PendingAudit> batch) {
+        List<BusinessEvent> events = new ArrayList<>(batch.size());
+        for (PendingAudit pending : batch) {
+            pending.event().setId(null);
+            events.add(pending.event());
+        }
+        long saveStart = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> businessEventRepository.saveAll(events));
+        pipelineMetrics.recordSince(PipelineStage.EVENT_SAVE, saveStart);
+
+        for (PendingAudit pending : batch) {
+            acknowledge(pending);
+        }
+        logger.debug("Persisted and acknowledged {} business event(s)", batch.size());
+    }
+
+    /**
+     * Save and acknowledge the events of a batch one by one, removing each from
+     * the batch once done. An event the database rejects for good is logged and
+     * acknowledged without being stored; any other failure is rethrown, leaving
+     * the remaining events in the batch for the next attempt.
+     */
+    private void flushIndividually(List<PendingAudit> batch) {
+        for (Iterator<PendingAudit> it = batch.iterator(); it.hasNext();) {
+            PendingAudit pending = it.next();
+            BusinessEvent event = pending.event();
+            event.setId(null);
+            long saveStart = System.nanoTime();
+            try {
+                transactionTemplate.executeWithoutResult(status -> businessEventRepository.save(event));
+                pipelineMetrics.recordSince(PipelineStage.EVENT_SAVE, saveStart);
+            } catch (NonTransientDataAccessException e) {
+                logger.error("Skipping business event [{}] ({} {} [{}]) rejected by the database: {}",
+                        event.getEventId(), event.getAggregateName(), event.getEventName(), event.getAggregateId(),
+                        e.getMessage(), e);
+            }
+            acknowledge(pending);
+            it.remove();
+        }
+    }
+
+    private void acknowledge(PendingAudit pending) {
+        if (pending.acknowledgment() != null) {
+            pending.acknowledgment().acknowledge();
+        }
+        unacknowledged.decrementAndGet();
+    }
+
+    private record PendingAudit(BusinessEvent event, Acknowledgment acknowledgment) {
+    }
+}
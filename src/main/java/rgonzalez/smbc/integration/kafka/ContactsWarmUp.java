@@ -0,0 +1,150 @@
+package rgonzalez.smbc.integration.kafka;
+
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.serializer.JacksonJsonDeserializer;
+import org.springframework.kafka.support.serializer.JacksonJsonSerializer;
+import org.springframework.stereotype.Component;
+
+import rgonzalez.smbc.integration.config.KafkaConfig;
+import rgonzalez.smbc.integration.config.WarmUpProperties;
+import rgonzalez.smbc.integration.kafka.handler.BusinessEventHandlerRegistry;
+import rgonzalez.smbc.integration.model.BusinessEvent;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JIT warm-up before the contacts listener joins the consumer group.
+ * A new instance would otherwise take its partitions right away and process
+ * the first thousands of events with interpreted code. Instead, synthetic
+ * ContactCreated, ContactUpdated and ContactDeleted events are deserialized
+ * with the contacts consumer configuration and dispatched to the
+ * {@link rgonzalez.smbc.integration.kafka.handler.BusinessEventHandler#warmUp}
+ * of their handlers, which parse and validate the payload without persisting
+ * or publishing, in rounds until the JIT compilation time per round settles.
+ * Only then is the contacts listener container started.
+ * The warm-up runs on the application ready event, before Spring Boot switches
+ * the readiness state to accepting traffic, so the readiness probe
+ * (/actuator/health/readiness) reports the instance as out of service until
+ * the listener is started.
+ */
+@Component
+@ConditionalOnProperty(name = "integration.warm-up.enabled", havingValue = "true")
+public class ContactsWarmUp {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContactsWarmUp.class);
+
+    private final ConsumerFactory<String, BusinessEvent> contactsConsumerFactory;
+    private final BusinessEventHandlerRegistry businessEventHandlerRegistry;
+    private final KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+    private final WarmUpProperties properties;
+
+    public ContactsWarmUp(ConsumerFactory<String, BusinessEvent> contactsConsumerFactory,
+            BusinessEventHandlerRegistry businessEventHandlerRegistry,
+            KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry,
+            WarmUpProperties properties) {
+        this.contactsConsumerFactory = contactsConsumerFactory;
+        this.businessEventHandlerRegistry = businessEventHandlerRegistry;
+        this.kafkaListenerEndpointRegistry = kafkaListenerEndpointRegistry;
+        this.properties = properties;
+    }
+
+    /**
+     * Warm up, then start the contacts listener. A failing warm-up is logged and
+     * does not keep the listener from starting.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpAndStart() {
+        try {
+            warmUp();
+        } catch (Exception e) {
+            logger.warn("Warm-up failed, starting the contacts listener anyway: {}", e.getMessage(), e);
+        }
+        MessageListenerContainer container = kafkaListenerEndpointRegistry
+                .getListenerContainer(ContactsEventHandler.LISTENER_ID);
+        if (container == null) {
+            throw new IllegalStateException("No listener container [" + ContactsEventHandler.LISTENER_ID + "]");
+        }
+        container.start();
+        logger.info("Contacts listener started");
+    }
+
+    private void warmUp() throws Exception {
+        List<byte[]> records = syntheticRecords();
+        JacksonJsonDeserializer<BusinessEvent> deserializer = new JacksonJsonDeserializer<>();
+        deserializer.configure(contactsConsumerFactory.getConfigurationProperties(), false);
+
+        CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+        // Without compilation time monitoring, the warm-up runs for max-duration
+        boolean monitored = compiler != null && compiler.isCompilationTimeMonitoringSupported();
+        long thresholdMillis = properties.getSettleThreshold().toMillis();
+        long start = System.nanoTime();
+        long deadline = start + properties.getMaxDuration().toNanos();
+        long compilationMillis = monitored ? compiler.getTotalCompilationTime() : 0;
+        int rounds = 0;
+        int settledRounds = 0;
+        long dispatched = 0;
+
+        while (settledRounds < properties.getSettledRounds() && System.nanoTime() < deadline) {
+            for (int i = 0; i < properties.getRoundSize(); i++) {
+                BusinessEvent event = deserializer.deserialize(KafkaConfig.CONTACTS_TOPIC, new RecordHeaders(),
+                        records.get(i % records.size()));
+                if (businessEventHandlerRegistry.warmUp(event)) {
+                    dispatched++;
+                }
+            }
+            rounds++;
+            if (monitored) {
+                long total = compiler.getTotalCompilationTime();
+                settledRounds = total - compilationMillis <= thresholdMillis ? settledRounds + 1 : 0;
+                compilationMillis = total;
+            }
+        }
+        deserializer.close();
+
+        logger.info("Warm-up {} after {} round(s) of {} events ({} dispatched) in {} ms",
+                settledRounds >= properties.getSettledRounds() ? "settled" : "stopped at max-duration",
+                rounds, properties.getRoundSize(), dispatched,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Serialized events as the contacts-api publishes them, one per handled
+     * event type plus one with an invalid SSN and one without a handler, so the
+     * rejecting branches are compiled as well.
+     */
+    private static List<byte[]> syntheticRecords() {
+        String valid = """
+                {"ssn":"123-45-6789","firstName":"Warm","lastName":"Up","name":"Warm Up"}""";
+        String invalidSsn = """
+                {"ssn":"123456789","firstName":"Warm","lastName":"Up","name":"Warm Up"}""";
+        try (JacksonJsonSerializer<BusinessEvent> serializer = new JacksonJsonSerializer<>()) {
+            return List.of(
+                    event(serializer, "ContactCreated", valid),
+                    event(serializer, "ContactUpdated", valid),
+                    event(serializer, "ContactCreated", invalidSsn),
+                    event(serializer, "ContactDeleted", valid),
+                    event(serializer, "ContactArchived", valid));
+        }
+    }
+
+    private static byte[] event(JacksonJsonSerializer<BusinessEvent> serializer, String eventName, String payload) {
+        BusinessEvent event = new BusinessEvent(UUID.randomUUID().toString(), UUID.randomUUID().toString(),
+                "Contact", eventName, payload, "contact.v2", UUID.randomUUID().toString(),
+                BusinessEvent.EventDirection.OUTBOUND);
+        event.setCreatedBy("warm-up");
+        event.setUpdatedBy("warm-up");
+        return serializer.serialize(KafkaConfig.CONTACTS_TOPIC, event);
+    }
+}
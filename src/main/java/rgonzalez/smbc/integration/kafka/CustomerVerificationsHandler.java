@@ -0,0 +1,166 @@
+package rgonzalez.smbc.integration.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Service;
+import rgonzalez.smbc.integration.config.KafkaConfig;
+import rgonzalez.smbc.integration.retry.SsnVerificationRetryQueue;
+import rgonzalez.smbc.integration.service.ContactVerificationService;
+import rgonzalez.smbc.integration.service.VerificationSource;
+import rgonzalez.smbc.integration.tracing.CorrelationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Consumes SSN verification requests other services publish to the
+ * customer-verifications topic, keyed by contact id, and answers on the
+ * customer-ssn-verified topic.
+ * Requests are processed a poll batch at a time: duplicates within the batch
+ * are verified once, the rest run concurrently with bounded parallelism, and
+ * the batch is acknowledged after every verification has completed. Failed
+ * verifications are handed to the durable retry queue instead of failing the
+ * batch. Each verification runs under the correlation id of its record's
+ * correlationId header, or a new one if the header is missing.
+ * The listener returns as soon as the verifications are started and
+ * acknowledges the batch from the thread completing the last one. At the
+ * provider quota a batch can take minutes; the container keeps polling, with
+ * the consumer paused until the batch is acknowledged, so it is not evicted
+ * from the group after max.poll.interval.ms and can be paused on shutdown.
+ */
+@Service
+public class CustomerVerificationsHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerVerificationsHandler.class);
+
+    private final ContactVerificationService contactVerificationService;
+    private final SsnVerificationRetryQueue retryQueue;
+    private final int parallelism;
+
+    public CustomerVerificationsHandler(ContactVerificationService contactVerificationService,
+            SsnVerificationRetryQueue retryQueue,
+            @Value("${integration.customer-verifications.parallelism:16}") int parallelism) {
+        this.contactVerificationService = contactVerificationService;
+        this.retryQueue = retryQueue;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Listens to the customer-verifications topic in batches.
+     *
+     * @param records        the polled batch
+     * @param acknowledgment acknowledges the batch once every request has been
+     *                       answered or queued for retry
+     */
+    @KafkaListener(topics = KafkaConfig.CUSTOMER_VERIFICATIONS_TOPIC, containerFactory = "customerVerificationsKafkaListenerContainerFactory", groupId = "integration-service")
+    public void handleVerificationRequests(List<ConsumerRecord<String, SsnVerificationRequest>> records,
+            Acknowledgment acknowledgment) {
+        Map<RequestKey, ConsumerRecord<String, SsnVerificationRequest>> unique = new LinkedHashMap<>();
+        for (ConsumerRecord<String, SsnVerificationRequest> record : records) {
+            if (record.key() == null || record.value() == null) {
+                logger.warn("Skipping unreadable verification request from partition [{}] with offset [{}]",
+                        record.partition(), record.offset());
+                continue;
+            }
+            unique.putIfAbsent(RequestKey.of(record.key(), record.value()), record);
+        }
+        logger.info("Processing {} verification request(s), {} unique", records.size(), unique.size());
+
+        if (unique.isEmpty()) {
+            acknowledgment.acknowledge();
+            return;
+        }
+        new Batch(List.copyOf(unique.values()).iterator(), unique.size(), acknowledgment).start();
+    }
+
+    private CompletableFuture<Void> verify(String contactId, SsnVerificationRequest request) {
+        CompletableFuture<?> verification;
+        try {
+            verification = contactVerificationService.verifyContact(contactId, request.getSsn(),
+                    request.getFirstName(), request.getLastName(), VerificationSource.CUSTOMER_VERIFICATIONS_TOPIC);
+        } catch (RuntimeException e) {
+            verification = CompletableFuture.failedFuture(e);
+        }
+        return verification.handle((result, exception) -> exception).thenCompose(exception -> {
+            if (exception == null) {
+                return CompletableFuture.<Void>completedFuture(null);
+            }
+            logger.error("Error during SSN verification for contact [{}]: {}", contactId,
+                    exception.getMessage(), exception);
+            return retryQueue.handOff(contactId, request.getSsn(), request.getFirstName(),
+                    request.getLastName(), VerificationSource.CUSTOMER_VERIFICATIONS_TOPIC, exception);
+        });
+    }
+
+    private static String correlationId(ConsumerRecord<?, ?> record) {
+        Header header = record.headers().lastHeader(CorrelationContext.HEADER);
+        return header == null || header.value() == null
+                ? null
+                : new String(header.value(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Verifications of one batch, at most parallelism at a time, started from
+     * the listener thread and then from the threads completing earlier ones.
+     */
+    private final class Batch {
+
+        private final Iterator<ConsumerRecord<String, SsnVerificationRequest>> pending;
+        private final Acknowledgment acknowledgment;
+        private final AtomicInteger remaining;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        // Serializes start(): a verification completing while it runs makes it loop again
+        private final AtomicInteger starts = new AtomicInteger();
+
+        Batch(Iterator<ConsumerRecord<String, SsnVerificationRequest>> pending, int size,
+                Acknowledgment acknowledgment) {
+            this.pending = pending;
+            this.remaining = new AtomicInteger(size);
+            this.acknowledgment = acknowledgment;
+        }
+
+        void start() {
+            if (starts.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                while (inFlight.get() < parallelism && pending.hasNext()) {
+                    ConsumerRecord<String, SsnVerificationRequest> record = pending.next();
+                    inFlight.incrementAndGet();
+                    try (CorrelationContext.Scope correlation = CorrelationContext.open(correlationId(record))) {
+                        verify(record.key(), record.value()).whenComplete((ignored, exception) -> completed());
+                    }
+                }
+            } while (starts.decrementAndGet() != 0);
+        }
+
+        private void completed() {
+            inFlight.decrementAndGet();
+            if (remaining.decrementAndGet() == 0) {
+                // Acknowledge the batch only once every request has been answered or queued
+                acknowledgment.acknowledge();
+            } else {
+                start();
+            }
+        }
+    }
+
+    private record RequestKey(String contactId, String ssn, String firstName, String lastName) {
+
+        static RequestKey of(String contactId, SsnVerificationRequest request) {
+            return new RequestKey(Objects.requireNonNull(contactId), request.getSsn(), request.getFirstName(),
+                    request.getLastName());
+        }
+    }
+}
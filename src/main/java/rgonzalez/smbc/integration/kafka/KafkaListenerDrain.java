@@ -0,0 +1,114 @@
+package rgonzalez.smbc.integration.kafka;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import rgonzalez.smbc.integration.config.KafkaScalingProperties;
+import rgonzalez.smbc.integration.metrics.PipelineMetrics;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Graceful drain of the Kafka listeners on shutdown.
+ * Stops before the listener containers: it pauses them, so no more records are
+ * polled while their consumers keep committing acknowledged offsets, then
+ * waits up to integration.kafka.drain-timeout for the verifications in flight,
+ * as counted by {@link PipelineMetrics}, to complete and for the
+ * {@link BusinessEventAuditWriter} to persist and acknowledge the events it
+ * holds. Whether or not that finished in
+ * time, it then stops the writer, which flushes what is left while the
+ * containers can still commit its offsets. The containers then stop and
+ * commit the final offsets. Without the drain, verifications of records that
+ * were already acknowledged were abandoned, and events persisted after the
+ * containers had stopped were redelivered to another instance.
+ */
+@Component
+public class KafkaListenerDrain implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(KafkaListenerDrain.class);
+
+    /**
+     * Stop before the Kafka listener containers.
+     */
+    public static final int PHASE = Integer.MAX_VALUE - 50;
+
+    private static final long POLL_MILLIS = 50;
+
+    private final KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+    private final BusinessEventAuditWriter businessEventAuditWriter;
+    private final PipelineMetrics pipelineMetrics;
+    private final KafkaScalingProperties properties;
+
+    private volatile boolean running;
+
+    public KafkaListenerDrain(KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry,
+            BusinessEventAuditWriter businessEventAuditWriter,
+            PipelineMetrics pipelineMetrics,
+            KafkaScalingProperties properties) {
+        this.kafkaListenerEndpointRegistry = kafkaListenerEndpointRegistry;
+        this.businessEventAuditWriter = businessEventAuditWriter;
+        this.pipelineMetrics = pipelineMetrics;
+        this.properties = properties;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        long start = System.nanoTime();
+        long deadline = start + properties.getDrainTimeout().toNanos();
+
+        Collection<MessageListenerContainer> containers = kafkaListenerEndpointRegistry.getListenerContainers();
+        containers.forEach(MessageListenerContainer::pause);
+        // A container is paused once the records it is processing are done
+        boolean paused = awaitUntil(deadline, () -> containers.stream()
+                .allMatch(container -> !container.isRunning() || container.isContainerPaused()));
+        boolean drained = paused && awaitUntil(deadline, () -> pipelineMetrics.inFlight() == 0
+                && businessEventAuditWriter.unacknowledged() == 0);
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (drained) {
+            logger.info("Kafka listeners drained in {} ms", elapsedMillis);
+        } else {
+            logger.warn("Kafka listeners not drained after {} ms: paused={}, {} verification(s) in flight, "
+                    + "{} unacknowledged event(s)", elapsedMillis, paused, pipelineMetrics.inFlight(),
+                    businessEventAuditWriter.unacknowledged());
+        }
+        businessEventAuditWriter.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private static boolean awaitUntil(long deadline, BooleanSupplier condition) {
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+}
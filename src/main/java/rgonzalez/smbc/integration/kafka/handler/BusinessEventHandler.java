@@ -0,0 +1,50 @@
+package rgonzalez.smbc.integration.kafka.handler;
+
+import rgonzalez.smbc.integration.model.BusinessEvent;
+
+/**
+ * Integration handler for one kind of business event.
+ * Handlers are Spring beans and register themselves with the
+ * {@link BusinessEventHandlerRegistry} under their event name.
+ */
+public interface BusinessEventHandler {
+
+    /**
+     * @return the aggregate name of the events this handler reacts to, used as a
+     *         metrics tag
+     */
+    String aggregateName();
+
+    /**
+     * @return the event name this handler reacts to, matched exactly
+     */
+    String eventName();
+
+    /**
+     * Name used for metrics tags and for executor configuration under
+     * {@code integration.event-handlers.executors.<name>}.
+     *
+     * @return the handler name
+     */
+    String name();
+
+    /**
+     * Handle the event.
+     *
+     * @param event the business event
+     * @throws Exception if the event could not be handled
+     */
+    void handle(BusinessEvent event) throws Exception;
+
+    /**
+     * Run the event through the side-effect free part of the handling, such as
+     * parsing and validating the payload, without persisting or publishing
+     * anything. Used to warm up the JIT before the contacts listener starts.
+     * Does nothing by default.
+     *
+     * @param event a synthetic business event
+     * @throws Exception if the event could not be processed
+     */
+    default void warmUp(BusinessEvent event) throws Exception {
+    }
+}
@@ -0,0 +1,187 @@
+package rgonzalez.smbc.integration.kafka.handler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import rgonzalez.smbc.integration.config.EventHandlerProperties;
+import rgonzalez.smbc.integration.model.BusinessEvent;
+import rgonzalez.smbc.integration.tracing.MdcTaskDecorator;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry of {@link BusinessEventHandler}s keyed by event name, matched
+ * exactly as the listener's switch on the event name did before.
+ * Each handler runs either inline on the listener thread or on its own bounded
+ * executor. Either way {@link #dispatch} returns once the handler is done and
+ * propagates its failure, so the record is only stored and acknowledged after
+ * the handler ran, and a failed handler has the record retried.
+ * Every handler gets its own latency timer and error and rejection counters.
+ */
+@Component
+public class BusinessEventHandlerRegistry implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(BusinessEventHandlerRegistry.class);
+
+    private final Map<String, RegisteredHandler> handlers = new HashMap<>();
+
+    public BusinessEventHandlerRegistry(List<BusinessEventHandler> handlers,
+            EventHandlerProperties properties,
+            MeterRegistry meterRegistry) {
+        for (BusinessEventHandler handler : handlers) {
+            RegisteredHandler registered = new RegisteredHandler(handler,
+                    properties.executionFor(handler.name()), meterRegistry);
+            RegisteredHandler existing = this.handlers.putIfAbsent(handler.eventName(), registered);
+            if (existing != null) {
+                throw new IllegalStateException("Multiple handlers registered for " + handler.eventName() + ": "
+                        + existing.handler.name() + ", " + handler.name());
+            }
+            logger.info("Registered business event handler [{}] for {} ({})", handler.name(), handler.eventName(),
+                    registered.executor == null ? "inline" : "pooled");
+        }
+    }
+
+    /**
+     * Dispatch the event to the handler registered for its event name and wait
+     * for it to complete.
+     *
+     * @param event the business event
+     * @return false if no handler is registered for the event
+     * @throws Exception if the handler fails or a pooled handler's executor
+     *                   rejects the event
+     */
+    public boolean dispatch(BusinessEvent event) throws Exception {
+        RegisteredHandler registered = handlers.get(event.getEventName());
+        if (registered == null) {
+            return false;
+        }
+        registered.dispatch(event);
+        return true;
+    }
+
+    /**
+     * Look up the handler for a synthetic event like {@link #dispatch} does and
+     * run its {@link BusinessEventHandler#warmUp}, inline and without recording
+     * metrics.
+     *
+     * @param event the synthetic business event
+     * @return false if no handler is registered for the event
+     * @throws Exception if the handler fails
+     */
+    public boolean warmUp(BusinessEvent event) throws Exception {
+        RegisteredHandler registered = handlers.get(event.getEventName());
+        if (registered == null) {
+            return false;
+        }
+        registered.handler.warmUp(event);
+        return true;
+    }
+
+    @Override
+    public void destroy() {
+        handlers.values().forEach(registered -> {
+            if (registered.executor != null) {
+                registered.executor.shutdown();
+            }
+        });
+    }
+
+    private static final class RegisteredHandler {
+
+        private final BusinessEventHandler handler;
+        private final ThreadPoolTaskExecutor executor;
+        private final Timer successTimer;
+        private final Timer errorTimer;
+        private final Counter errors;
+        private final Counter rejections;
+
+        RegisteredHandler(BusinessEventHandler handler, EventHandlerProperties.Execution execution,
+                MeterRegistry meterRegistry) {
+            this.handler = handler;
+            this.executor = execution.getMode() == EventHandlerProperties.Mode.POOLED
+                    ? createExecutor(handler.name(), execution)
+                    : null;
+            this.successTimer = timer(meterRegistry, "success");
+            this.errorTimer = timer(meterRegistry, "error");
+            this.errors = Counter.builder("integration.event.handler.errors")
+                    .description("Business event handler failures")
+                    .tag("handler", handler.name())
+                    .register(meterRegistry);
+            this.rejections = Counter.builder("integration.event.handler.rejections")
+                    .description("Business events rejected because the handler executor was full")
+                    .tag("handler", handler.name())
+                    .register(meterRegistry);
+        }
+
+        void dispatch(BusinessEvent event) throws Exception {
+            if (executor == null) {
+                invoke(event);
+                return;
+            }
+            Future<?> handled;
+            try {
+                handled = executor.submit(() -> {
+                    invoke(event);
+                    return null;
+                });
+            } catch (TaskRejectedException e) {
+                rejections.increment();
+                throw e;
+            }
+            try {
+                handled.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Exception cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        private void invoke(BusinessEvent event) throws Exception {
+            long start = System.nanoTime();
+            try {
+                handler.handle(event);
+                successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            } catch (Exception e) {
+                errorTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                errors.increment();
+                throw e;
+            }
+        }
+
+        private Timer timer(MeterRegistry meterRegistry, String outcome) {
+            return Timer.builder("integration.event.handler")
+                    .description("Business event handler latency")
+                    .tag("handler", handler.name())
+                    .tag("aggregate", handler.aggregateName())
+                    .tag("event", handler.eventName())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+
+        private static ThreadPoolTaskExecutor createExecutor(String name, EventHandlerProperties.Execution execution) {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(execution.getCorePoolSize());
+            executor.setMaxPoolSize(execution.getMaxPoolSize());
+            executor.setQueueCapacity(execution.getQueueCapacity());
+            executor.setThreadNamePrefix("handler-" + name + "-");
+            executor.setTaskDecorator(new MdcTaskDecorator());
+            executor.initialize();
+            return executor;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package rgonzalez.smbc.integration.kafka.handler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import rgonzalez.smbc.integration.kafka.SsnVerificationRequest;
+import rgonzalez.smbc.integration.kafka.schema.EventSchemaRegistry;
+import rgonzalez.smbc.integration.model.BusinessEvent;
+import rgonzalez.smbc.integration.model.Contact;
+import rgonzalez.smbc.integration.overflow.VerificationOverflowQueue;
+import rgonzalez.smbc.integration.service.SsnFormat;
+import rgonzalez.smbc.integration.service.VerificationSource;
+
+import java.io.IOException;
+
+/**
+ * Handle ContactCreated events.
+ * Triggers async SSN verification for the contact, which persists the
+ * verification result and sends the outcome to the customer-ssn-verified
+ * topic. Failed verifications are queued for retry. While an import floods
+ * the provider rate limiter, verifications wait in the local overflow log.
+ */
+@Component
+public class ContactCreatedEventHandler implements BusinessEventHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContactCreatedEventHandler.class);
+    private final EventSchemaRegistry eventSchemaRegistry;
+    private final VerificationOverflowQueue verificationOverflowQueue;
+
+    public ContactCreatedEventHandler(EventSchemaRegistry eventSchemaRegistry,
+            VerificationOverflowQueue verificationOverflowQueue) {
+        this.eventSchemaRegistry = eventSchemaRegistry;
+        this.verificationOverflowQueue = verificationOverflowQueue;
+    }
+
+    @Override
+    public String aggregateName() {
+        return "Contact";
+    }
+
+    @Override
+    public String eventName() {
+        return "ContactCreated";
+    }
+
+    @Override
+    public String name() {
+        return "contact-created";
+    }
+
+    @Override
+    public void handle(BusinessEvent event) {
+        logger.info("Handling ContactCreated event for contact [{}]", event.getAggregateId());
+
+        try {
+            SsnVerificationRequest verificationRequest = toVerificationRequest(event);
+
+            logger.debug("Extracted verification request from payload: SSN={}, FirstName={}, LastName={}",
+                    verificationRequest.getSsn(), verificationRequest.getFirstName(),
+                    verificationRequest.getLastName());
+
+            // Verify, persist and publish asynchronously
+            verificationOverflowQueue.submit(
+                    event.getAggregateId(),
+                    verificationRequest.getSsn(),
+                    verificationRequest.getFirstName(),
+                    verificationRequest.getLastName(),
+                    VerificationSource.CONTACTS_TOPIC);
+
+        } catch (Exception e) {
+            logger.error("Error parsing event payload for SSN verification: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parse the payload and check the SSN format, which the verification does
+     * first; nothing is verified, persisted or published.
+     */
+    @Override
+    public void warmUp(BusinessEvent event) throws IOException {
+        if (!SsnFormat.isValid(toVerificationRequest(event).getSsn())) {
+            logger.trace("Warm-up event [{}] has an invalid SSN", event.getEventId());
+        }
+    }
+
+    private SsnVerificationRequest toVerificationRequest(BusinessEvent event) throws IOException {
+        // Parse the event payload to extract SSN and name information,
+        // upcasting it from the schema it was written with
+        Contact contact = eventSchemaRegistry.read(event, Contact.class);
+
+        return new SsnVerificationRequest(
+                contact.getSsn(),
+                contact.getFirstName(),
+                contact.getLastName());
+    }
+}
@@ -0,0 +1,38 @@
+package rgonzalez.smbc.integration.kafka.handler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import rgonzalez.smbc.integration.model.BusinessEvent;
+
+/**
+ * Handle ContactDeleted events.
+ * Perform integration tasks when a contact is deleted.
+ */
+@Component
+public class ContactDeletedEventHandler implements BusinessEventHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContactDeletedEventHandler.class);
+
+    @Override
+    public String aggregateName() {
+        return "Contact";
+    }
+
+    @Override
+    public String eventName() {
+        return "ContactDeleted";
+    }
+
+    @Override
+    public String name() {
+        return "contact-deleted";
+    }
+
+    @Override
+    public void handle(BusinessEvent event) {
+        logger.info("Handling ContactDeleted event for contact [{}]", event.getAggregateId());
+        // Add your integration logic here
+    }
+}
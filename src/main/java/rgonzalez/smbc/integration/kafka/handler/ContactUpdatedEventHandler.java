@@ -0,0 +1,38 @@
+package rgonzalez.smbc.integration.kafka.handler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import rgonzalez.smbc.integration.model.BusinessEvent;
+
+/**
+ * Handle ContactUpdated events.
+ * Perform integration tasks when a contact is updated.
+ */
+@Component
+public class ContactUpdatedEventHandler implements BusinessEventHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContactUpdatedEventHandler.class);
+
+    @Override
+    public String aggregateName() {
+        return "Contact";
+    }
+
+    @Override
+    public String eventName() {
+        return "ContactUpdated";
+    }
+
+    @Override
+    public String name() {
+        return "contact-updated";
+    }
+
+    @Override
+    public void handle(BusinessEvent event) {
+        logger.info("Handling ContactUpdated event for contact [{}]", event.getAggregateId());
+        // Add your integration logic here
+    }
+}
@@ -0,0 +1,161 @@
+package rgonzalez.smbc.integration.kafka.schema;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import rgonzalez.smbc.integration.model.BusinessEvent;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Registry of payload readers keyed by the {@code schema} carried in a
+ * {@link BusinessEvent}.
+ * Payloads of the current schema are read straight into the requested type.
+ * Payloads of older schemas are read into the type of the first registered
+ * {@link EventUpcaster} and then passed through the upcaster chain until they
+ * reach the requested type.
+ * Compiled readers are built once per schema and target type and reused, so
+ * every message is bound directly to a typed class without going through an
+ * intermediate JSON tree.
+ */
+@Component
+public class EventSchemaRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventSchemaRegistry.class);
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, EventUpcaster<?, ?>> upcastersBySchema;
+    private final Map<ReaderKey, CompiledReader<?>> upcastingReaders = new ConcurrentHashMap<>();
+    private final Map<Class<?>, CompiledReader<?>> currentReaders = new ConcurrentHashMap<>();
+
+    public EventSchemaRegistry(List<EventUpcaster<?, ?>> upcasters) {
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+
+        Map<String, EventUpcaster<?, ?>> bySchema = new HashMap<>();
+        for (EventUpcaster<?, ?> upcaster : upcasters) {
+            EventUpcaster<?, ?> existing = bySchema.putIfAbsent(upcaster.sourceSchema(), upcaster);
+            if (existing != null) {
+                throw new IllegalStateException("Multiple upcasters registered for schema ["
+                        + upcaster.sourceSchema() + "]: " + existing.getClass().getName() + ", "
+                        + upcaster.getClass().getName());
+            }
+        }
+        this.upcastersBySchema = Map.copyOf(bySchema);
+        logger.info("Event schema registry initialized with upcasters for schemas {}", upcastersBySchema.keySet());
+    }
+
+    /**
+     * Read the payload of the given event into the requested type, upcasting it
+     * from the schema the event was written with if needed.
+     *
+     * @param event      the business event carrying the payload and schema
+     * @param targetType the current payload type
+     * @return the payload in the current shape
+     * @throws IOException if the payload cannot be parsed
+     */
+    public <T> T read(BusinessEvent event, Class<T> targetType) throws IOException {
+        return readerFor(event.getSchema(), targetType).read(event.getEventPayload());
+    }
+
+    /**
+     * Get the compiled reader for a schema and target type, building it on
+     * first use.
+     *
+     * @param schema     the schema identifier, may be null
+     * @param targetType the current payload type
+     * @return the compiled reader
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompiledReader<T> readerFor(String schema, Class<T> targetType) {
+        if (schema == null || !upcastersBySchema.containsKey(schema)) {
+            // Current or unregistered schema: share one reader per type so arbitrary
+            // schema strings cannot grow the cache
+            return (CompiledReader<T>) currentReaders.computeIfAbsent(targetType,
+                    type -> new CompiledReader<>(objectMapper.readerFor(type), Function.identity()));
+        }
+        return (CompiledReader<T>) upcastingReaders.computeIfAbsent(new ReaderKey(schema, targetType),
+                key -> compile(key.schema(), targetType));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private <T> CompiledReader<T> compile(String schema, Class<T> targetType) {
+        List<EventUpcaster<?, ?>> chain = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        String current = schema;
+        EventUpcaster<?, ?> upcaster;
+        while ((upcaster = upcastersBySchema.get(current)) != null) {
+            if (!visited.add(current)) {
+                throw new IllegalStateException("Upcaster cycle detected at schema [" + current + "]");
+            }
+            if (!chain.isEmpty()) {
+                Class<?> previousType = chain.get(chain.size() - 1).targetType();
+                if (!upcaster.sourceType().isAssignableFrom(previousType)) {
+                    throw new IllegalStateException("Upcaster for schema [" + current + "] expects "
+                            + upcaster.sourceType().getName() + " but previous step produces "
+                            + previousType.getName());
+                }
+            }
+            chain.add(upcaster);
+            current = upcaster.targetSchema();
+        }
+
+        Class<?> producedType = chain.get(chain.size() - 1).targetType();
+        if (!targetType.isAssignableFrom(producedType)) {
+            throw new IllegalStateException("Upcaster chain for schema [" + schema + "] produces "
+                    + producedType.getName() + ", not " + targetType.getName());
+        }
+
+        Function<Object, Object> conversion = Function.identity();
+        for (EventUpcaster step : chain) {
+            conversion = conversion.andThen(step::upcast);
+        }
+        logger.info("Compiled reader for schema [{}] into {} through {} upcaster(s), ending at schema [{}]",
+                schema, targetType.getSimpleName(), chain.size(), current);
+        return new CompiledReader<>(objectMapper.readerFor(chain.get(0).sourceType()),
+                (Function<Object, T>) (Function) conversion);
+    }
+
+    private record ReaderKey(String schema, Class<?> targetType) {
+    }
+
+    /**
+     * A reader bound to the concrete payload type of one schema together with the
+     * upcaster chain that converts it into the current shape.
+     * Instances are immutable and safe to share between threads.
+     */
+    public static final class CompiledReader<T> {
+
+        private final ObjectReader reader;
+        private final Function<Object, T> conversion;
+
+        private CompiledReader(ObjectReader reader, Function<Object, T> conversion) {
+            this.reader = reader;
+            this.conversion = conversion;
+        }
+
+        /**
+         * Parse and upcast a payload.
+         *
+         * @param payload the raw JSON payload
+         * @return the payload in the current shape
+         * @throws IOException if the payload cannot be parsed
+         */
+        public T read(String payload) throws IOException {
+            return conversion.apply(reader.readValue(payload));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package rgonzalez.smbc.integration.kafka.schema;
+
+/**
+ * Converts a payload written with an older schema into the shape of the next
+ * schema version.
+ * Upcasters are chained by schema: the registry starts from the schema carried
+ * by the event and keeps applying the upcaster registered for the current
+ * {@link #targetSchema()} until no further upcaster exists.
+ *
+ * @param <S> the type the source schema payload is read into
+ * @param <T> the type produced for the target schema
+ */
+public interface EventUpcaster<S, T> {
+
+    /**
+     * @return the schema identifier this upcaster reads, as carried in
+     *         {@code BusinessEvent.schema}
+     */
+    String sourceSchema();
+
+    /**
+     * @return the schema identifier of the payload produced by this upcaster
+     */
+    String targetSchema();
+
+    /**
+     * @return the type the source payload is deserialized into
+     */
+    Class<S> sourceType();
+
+    /**
+     * @return the type produced by {@link #upcast(Object)}
+     */
+    Class<T> targetType();
+
+    /**
+     * Convert a payload of the source schema into the target schema.
+     *
+     * @param source the deserialized source payload
+     * @return the upcasted payload
+     */
+    T upcast(S source);
+}
@@ -0,0 +1,63 @@
+package rgonzalez.smbc.integration.maintenance;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+import rgonzalez.smbc.integration.service.BulkIngestService;
+import rgonzalez.smbc.integration.service.BulkIngestService.IngestReport;
+import rgonzalez.smbc.integration.service.BulkIngestService.Target;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Actuator endpoint to run backfills through {@link BulkIngestService}.
+ * Either loads an NDJSON file from the configured ingest directory, or a
+ * contacts topic offset range into business_events. The request blocks until
+ * the COPY has finished and returns the ingest report.
+ */
+@Component
+@Endpoint(id = "bulkingest")
+public class BulkIngestEndpoint {
+
+    private final BulkIngestService bulkIngestService;
+    private final Path directory;
+
+    public BulkIngestEndpoint(BulkIngestService bulkIngestService,
+            @Value("${integration.bulk-ingest.directory:bulk-ingest}") String directory) {
+        this.bulkIngestService = bulkIngestService;
+        this.directory = Path.of(directory).toAbsolutePath().normalize();
+    }
+
+    @WriteOperation
+    public IngestReport ingest(Target target, @Nullable String file, @Nullable Integer partition,
+            @Nullable Long fromOffset, @Nullable Long toOffset) throws IOException {
+        if (file != null) {
+            return bulkIngestService.ingestFile(target, resolve(file));
+        }
+        if (partition == null || fromOffset == null || toOffset == null) {
+            throw new InvalidEndpointRequestException("Either file or partition, fromOffset and toOffset are required",
+                    "Missing source");
+        }
+        if (target != Target.BUSINESS_EVENTS) {
+            throw new InvalidEndpointRequestException("The contacts topic only carries business events",
+                    "Unsupported target");
+        }
+        try {
+            return bulkIngestService.ingestContactsTopic(partition, fromOffset, toOffset);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), "Invalid offset range");
+        }
+    }
+
+    private Path resolve(String file) {
+        Path resolved = directory.resolve(file).normalize();
+        if (!resolved.startsWith(directory)) {
+            throw new InvalidEndpointRequestException("File must be inside " + directory, "Invalid file");
+        }
+        return resolved;
+    }
+}
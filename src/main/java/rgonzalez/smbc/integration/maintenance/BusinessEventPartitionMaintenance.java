@@ -0,0 +1,228 @@
+package rgonzalez.smbc.integration.maintenance;
+
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rgonzalez.smbc.integration.config.BusinessEventPartitionProperties;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Maintains the monthly range partitions of integration.business_events.
+ * Pre-creates partitions ahead of time so inserts never miss a partition, and
+ * enforces retention by detaching old partitions, streaming them to
+ * gzip-compressed CSV files with COPY and dropping them, instead of deleting
+ * rows one by one.
+ * Rows that still landed in the DEFAULT partition are first moved into monthly
+ * partitions: a DEFAULT partition holding rows of a month prevents creating
+ * the partition of that month, and its rows would never be archived.
+ */
+@Component
+@ConditionalOnProperty(name = "integration.business-events.partitioning.enabled", havingValue = "true")
+public class BusinessEventPartitionMaintenance {
+
+    private static final Logger logger = LoggerFactory.getLogger(BusinessEventPartitionMaintenance.class);
+
+    private static final String SCHEMA = "integration";
+    private static final String TABLE = "business_events";
+    private static final String PARTITION_PREFIX = TABLE + "_p";
+    private static final String DEFAULT_PARTITION = TABLE + "_default";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BusinessEventPartitionProperties properties;
+
+    public BusinessEventPartitionMaintenance(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            BusinessEventPartitionProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    /**
+     * Make sure upcoming partitions exist as soon as the application starts.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    /**
+     * Daily partition maintenance: move rows out of the DEFAULT partition,
+     * pre-create future partitions, then apply the retention policy.
+     */
+    @Scheduled(cron = "${integration.business-events.partitioning.cron:0 0 3 * * *}")
+    public void maintain() {
+        try {
+            if (!isPartitioned()) {
+                logger.warn("Table {}.{} is not partitioned; skipping partition maintenance", SCHEMA, TABLE);
+                return;
+            }
+            moveDefaultPartitionRows();
+            YearMonth current = YearMonth.now();
+            createPartitions(current, current.plusMonths(properties.getPremakeMonths()));
+            applyRetention(current.minusMonths(properties.getRetentionMonths()));
+        } catch (DataAccessException | UncheckedIOException e) {
+            logger.error("Business event partition maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean isPartitioned() {
+        Integer count = jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM pg_partitioned_table pt
+                JOIN pg_class c ON c.oid = pt.partrelid
+                JOIN pg_namespace n ON n.oid = c.relnamespace
+                WHERE n.nspname = ? AND c.relname = ?""", Integer.class, SCHEMA, TABLE);
+        return count != null && count > 0;
+    }
+
+    private void createPartitions(YearMonth from, YearMonth to) {
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s.%s PARTITION OF %s.%s FOR VALUES FROM ('%s') TO ('%s')",
+                    SCHEMA, partitionName(month), SCHEMA, TABLE, month.atDay(1), month.plusMonths(1).atDay(1)));
+        }
+        logger.debug("Ensured business event partitions from {} to {}", from, to);
+    }
+
+    /**
+     * Move the rows of the DEFAULT partition into partitions of their month, in
+     * one transaction: detach the DEFAULT partition, create the missing monthly
+     * partitions, re-insert its rows through the parent table, empty it and
+     * attach it again. Inserts wait for the transaction, which is short as long
+     * as the DEFAULT partition only catches the odd row.
+     */
+    private void moveDefaultPartitionRows() {
+        Boolean exists = jdbcTemplate.queryForObject(String.format(
+                "SELECT to_regclass('%s.%s') IS NOT NULL", SCHEMA, DEFAULT_PARTITION), Boolean.class);
+        if (!Boolean.TRUE.equals(exists) || !defaultPartitionHasRows()) {
+            return;
+        }
+        Integer moved = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute(String.format("ALTER TABLE %s.%s DETACH PARTITION %s.%s",
+                    SCHEMA, TABLE, SCHEMA, DEFAULT_PARTITION));
+            List<String> months = jdbcTemplate.queryForList(String.format(
+                    "SELECT DISTINCT to_char(created_timestamp, 'YYYYMM') FROM %s.%s", SCHEMA, DEFAULT_PARTITION),
+                    String.class);
+            for (String month : months) {
+                YearMonth yearMonth = YearMonth.parse(month, PARTITION_SUFFIX);
+                createPartitions(yearMonth, yearMonth);
+            }
+            int rows = jdbcTemplate.update(String.format("INSERT INTO %s.%s SELECT * FROM %s.%s",
+                    SCHEMA, TABLE, SCHEMA, DEFAULT_PARTITION));
+            jdbcTemplate.execute(String.format("TRUNCATE %s.%s", SCHEMA, DEFAULT_PARTITION));
+            jdbcTemplate.execute(String.format("ALTER TABLE %s.%s ATTACH PARTITION %s.%s DEFAULT",
+                    SCHEMA, TABLE, SCHEMA, DEFAULT_PARTITION));
+            return rows;
+        });
+        logger.warn("Moved {} business event(s) from the DEFAULT partition into monthly partitions", moved);
+    }
+
+    private boolean defaultPartitionHasRows() {
+        Boolean hasRows = jdbcTemplate.queryForObject(String.format(
+                "SELECT EXISTS (SELECT 1 FROM %s.%s)", SCHEMA, DEFAULT_PARTITION), Boolean.class);
+        return Boolean.TRUE.equals(hasRows);
+    }
+
+    /**
+     * Detach, archive and drop every partition for a month before the oldest
+     * retained month. Partitions left detached by an interrupted run are archived
+     * as well.
+     */
+    private void applyRetention(YearMonth oldestRetained) {
+        List<String> attached = jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                JOIN pg_namespace n ON n.oid = p.relnamespace
+                WHERE n.nspname = ? AND p.relname = ?""", String.class, SCHEMA, TABLE);
+        for (String partition : attached) {
+            YearMonth month = partitionMonth(partition);
+            if (month != null && month.isBefore(oldestRetained)) {
+                logger.info("Detaching business event partition {} (retention keeps {} onwards)", partition,
+                        oldestRetained);
+                jdbcTemplate.execute(String.format("ALTER TABLE %s.%s DETACH PARTITION %s.%s CONCURRENTLY",
+                        SCHEMA, TABLE, SCHEMA, partition));
+            }
+        }
+
+        List<String> detached = jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_class c
+                JOIN pg_namespace n ON n.oid = c.relnamespace
+                WHERE n.nspname = ? AND c.relkind = 'r' AND c.relname LIKE ?
+                AND NOT c.relispartition""", String.class, SCHEMA, PARTITION_PREFIX + "%");
+        for (String partition : detached) {
+            if (partitionMonth(partition) != null) {
+                archiveAndDrop(partition);
+            }
+        }
+    }
+
+    private void archiveAndDrop(String partition) {
+        Path directory = Path.of(properties.getArchiveDirectory());
+        Path archive = directory.resolve(partition + ".csv.gz");
+        Path temporary = directory.resolve(partition + ".csv.gz.tmp");
+        try {
+            Files.createDirectories(directory);
+            long rows;
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temporary), 64 * 1024)) {
+                rows = copyOut(String.format("COPY %s.%s TO STDOUT WITH (FORMAT csv, HEADER)", SCHEMA, partition),
+                        out);
+            }
+            Files.move(temporary, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            jdbcTemplate.execute(String.format("DROP TABLE %s.%s", SCHEMA, partition));
+            logger.info("Archived {} rows of business event partition {} to {} and dropped it", rows, partition,
+                    archive);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to archive business event partition " + partition, e);
+        }
+    }
+
+    private long copyOut(String sql, OutputStream out) {
+        Long rows = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyOut(sql, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return rows == null ? 0 : rows;
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    private static YearMonth partitionMonth(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
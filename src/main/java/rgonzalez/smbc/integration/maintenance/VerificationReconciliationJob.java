@@ -0,0 +1,268 @@
+package rgonzalez.smbc.integration.maintenance;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import rgonzalez.smbc.integration.config.ReconciliationProperties;
+import rgonzalez.smbc.integration.kafka.schema.EventSchemaRegistry;
+import rgonzalez.smbc.integration.model.BusinessEvent;
+import rgonzalez.smbc.integration.model.Contact;
+import rgonzalez.smbc.integration.model.EventPayloadCodec;
+import rgonzalez.smbc.integration.model.SsnVerificationResult;
+import rgonzalez.smbc.integration.overflow.VerificationOverflowQueue;
+import rgonzalez.smbc.integration.ratelimit.ProviderRateLimiter;
+import rgonzalez.smbc.integration.retry.SsnVerificationRetryQueue;
+import rgonzalez.smbc.integration.service.ContactVerificationService;
+import rgonzalez.smbc.integration.service.VerificationSource;
+
+import javax.sql.DataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Finds ContactCreated events that never produced an SSN verification result
+ * and re-drives them through {@link ContactVerificationService}.
+ * The look-back period is split into created_timestamp windows, so each
+ * anti-join only touches the matching business_events partitions and the
+ * contact index of ssn_verification_results. Gaps are fetched in keyset pages
+ * and submitted at a bounded parallelism; the {@link ProviderRateLimiter}
+ * shares the provider quota with the other sources. Contacts already in the
+ * retry queue are left to the retry workers, and contacts whose event payload
+ * cannot be read are recorded there as DEAD, so later runs skip them. Contact verifications still
+ * waiting in the {@link VerificationOverflowQueue} or the
+ * {@link ProviderRateLimiter} are left alone too: the period ends the age of
+ * their oldest verification before the grace period. A PostgreSQL advisory lock
+ * makes sure only one instance reconciles at a time. It is held on a connection
+ * of its own, outside the connection pool, so a run does not keep one of the
+ * pooled connections for its whole duration; if that connection drops, another
+ * instance may start reconciling too, which repeats verifications but loses
+ * none.
+ */
+@Component
+@ConditionalOnProperty(name = "integration.reconciliation.enabled", havingValue = "true")
+public class VerificationReconciliationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerificationReconciliationJob.class);
+
+    private static final long ADVISORY_LOCK_KEY = 0x5353_4E52_4543_4F4EL;
+
+    private static final String GAPS_SQL = "SELECT DISTINCT ON (e.aggregate_id)"
+            + " e.aggregate_id, e.aggregate_name, e.event_name, e.event_payload, e.schema"
+            + " FROM integration.business_events e"
+            + " WHERE e.aggregate_name = 'Contact' AND e.event_name = 'ContactCreated'"
+            + " AND e.created_timestamp >= ? AND e.created_timestamp < ? AND e.aggregate_id > ?"
+            + " AND NOT EXISTS (SELECT 1 FROM integration.ssn_verification_results r"
+            + " WHERE r.contact_id = e.aggregate_id)"
+            + " AND NOT EXISTS (SELECT 1 FROM integration.ssn_verification_retries q"
+            + " WHERE q.contact_id = e.aggregate_id)"
+            + " ORDER BY e.aggregate_id, e.created_timestamp DESC"
+            + " LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource lockDataSource;
+    private final EventSchemaRegistry eventSchemaRegistry;
+    private final ContactVerificationService contactVerificationService;
+    private final SsnVerificationRetryQueue retryQueue;
+    private final VerificationOverflowQueue verificationOverflowQueue;
+    private final ProviderRateLimiter providerRateLimiter;
+    private final ReconciliationProperties properties;
+    private final Counter gapsCounter;
+
+    public VerificationReconciliationJob(JdbcTemplate jdbcTemplate,
+            DataSourceProperties dataSourceProperties,
+            EventSchemaRegistry eventSchemaRegistry,
+            ContactVerificationService contactVerificationService,
+            SsnVerificationRetryQueue retryQueue,
+            VerificationOverflowQueue verificationOverflowQueue,
+            ProviderRateLimiter providerRateLimiter,
+            ReconciliationProperties properties,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.lockDataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(SimpleDriverDataSource.class).build();
+        this.eventSchemaRegistry = eventSchemaRegistry;
+        this.contactVerificationService = contactVerificationService;
+        this.retryQueue = retryQueue;
+        this.verificationOverflowQueue = verificationOverflowQueue;
+        this.providerRateLimiter = providerRateLimiter;
+        this.properties = properties;
+        this.gapsCounter = Counter.builder("integration.reconciliation.gaps")
+                .description("ContactCreated events re-driven because no verification result was found")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${integration.reconciliation.cron:0 15 * * * *}")
+    public void reconcileRecent() {
+        Duration backlog = max(verificationOverflowQueue.backlogAge(),
+                providerRateLimiter.backlogAge(VerificationSource.CONTACTS_TOPIC));
+        if (!backlog.isZero()) {
+            logger.info("Contact verifications are {} s behind, leaving them out of the reconciliation",
+                    backlog.toSeconds());
+        }
+        LocalDateTime to = LocalDateTime.now().minus(properties.getGracePeriod()).minus(backlog);
+        try {
+            reconcile(to.minus(properties.getLookback()), to);
+        } catch (DataAccessException e) {
+            logger.error("Verification reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Re-drive ContactCreated events created in {@code [from, to)} without a
+     * verification result. Does nothing if another instance is reconciling.
+     *
+     * @param from start of the period, inclusive
+     * @param to   end of the period, exclusive
+     * @return number of contacts re-driven, or -1 if another instance holds the
+     *         reconciliation lock
+     */
+    public long reconcile(LocalDateTime from, LocalDateTime to) {
+        try (Connection connection = lockDataSource.getConnection()) {
+            if (!advisoryLock(connection, "pg_try_advisory_lock")) {
+                logger.info("Verification reconciliation already running on another instance");
+                return -1;
+            }
+            try {
+                return reconcileWindows(from, to);
+            } finally {
+                advisoryLock(connection, "pg_advisory_unlock");
+            }
+        } catch (SQLException e) {
+            throw new CannotGetJdbcConnectionException("Failed to take the reconciliation lock", e);
+        }
+    }
+
+    private long reconcileWindows(LocalDateTime from, LocalDateTime to) {
+        long started = System.nanoTime();
+        Semaphore inFlight = new Semaphore(properties.getParallelism());
+        AtomicLong failed = new AtomicLong();
+        long redriven = 0;
+
+        for (LocalDateTime windowStart = from; windowStart.isBefore(to); windowStart = windowStart
+                .plus(properties.getWindow())) {
+            LocalDateTime windowEnd = min(windowStart.plus(properties.getWindow()), to);
+            String after = "";
+            List<Gap> gaps;
+            do {
+                gaps = findGaps(windowStart, windowEnd, after);
+                for (Gap gap : gaps) {
+                    inFlight.acquireUninterruptibly();
+                    redrive(gap, inFlight, failed);
+                    redriven++;
+                }
+                if (!gaps.isEmpty()) {
+                    after = gaps.get(gaps.size() - 1).aggregateId();
+                }
+            } while (gaps.size() == properties.getPageSize());
+        }
+
+        // Wait for the last verifications, so the next run does not pick them up again
+        inFlight.acquireUninterruptibly(properties.getParallelism());
+        inFlight.release(properties.getParallelism());
+        logger.info("Verification reconciliation of [{}, {}) re-drove {} contact(s), {} failed,"
+                + " in {} ms", from, to, redriven, failed.get(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return redriven;
+    }
+
+    private List<Gap> findGaps(LocalDateTime windowStart, LocalDateTime windowEnd, String after) {
+        return jdbcTemplate.query(GAPS_SQL, (ResultSet rs, int rowNum) -> new Gap(rs.getString("aggregate_id"),
+                rs.getString("aggregate_name"), rs.getString("event_name"), rs.getBytes("event_payload"),
+                rs.getString("schema")),
+                Timestamp.valueOf(windowStart), Timestamp.valueOf(windowEnd), after, properties.getPageSize());
+    }
+
+    private void redrive(Gap gap, Semaphore inFlight, AtomicLong failed) {
+        gapsCounter.increment();
+        BusinessEvent event = new BusinessEvent();
+        event.setAggregateId(gap.aggregateId());
+        Contact contact;
+        try {
+            event.setAggregateName(gap.aggregateName());
+            event.setEventName(gap.eventName());
+            event.setEventPayload(EventPayloadCodec.decode(gap.payload()));
+            event.setSchema(gap.schema());
+            contact = eventSchemaRegistry.read(event, Contact.class);
+        } catch (Exception e) {
+            logger.error("Cannot reconcile contact [{}], unreadable payload: {}", event.getAggregateId(),
+                    e.getMessage());
+            failed.incrementAndGet();
+            try {
+                retryQueue.recordDead(event.getAggregateId(), VerificationSource.RECONCILIATION, e);
+            } catch (DataAccessException ex) {
+                logger.error("Failed to record unreadable contact [{}]: {}", event.getAggregateId(),
+                        ex.getMessage(), ex);
+            } finally {
+                inFlight.release();
+            }
+            return;
+        }
+        logger.info("Re-driving SSN verification for contact [{}]", event.getAggregateId());
+        CompletableFuture<SsnVerificationResult> verification;
+        try {
+            verification = contactVerificationService.verifyContact(event.getAggregateId(), contact.getSsn(),
+                    contact.getFirstName(), contact.getLastName(), VerificationSource.RECONCILIATION);
+        } catch (RuntimeException e) {
+            verification = CompletableFuture.failedFuture(e);
+        }
+        verification.whenComplete((result, exception) -> {
+            try {
+                if (exception != null) {
+                    failed.incrementAndGet();
+                    retryQueue.enqueue(event.getAggregateId(), contact.getSsn(), contact.getFirstName(),
+                            contact.getLastName(), VerificationSource.RECONCILIATION, exception);
+                }
+            } catch (DataAccessException e) {
+                logger.error("Failed to queue retry for contact [{}]: {}", event.getAggregateId(),
+                        e.getMessage(), e);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private static boolean advisoryLock(Connection connection, String function) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT " + function + "(?)")) {
+            statement.setLong(1, ADVISORY_LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static Duration max(Duration a, Duration b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    /**
+     * A ContactCreated event without a verification result, with its payload
+     * still encoded so a corrupt one is handled per contact.
+     */
+    private record Gap(String aggregateId, String aggregateName, String eventName, byte[] payload,
+            String schema) {
+    }
+}
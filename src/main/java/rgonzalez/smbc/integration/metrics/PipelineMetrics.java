@@ -0,0 +1,94 @@
+package rgonzalez.smbc.integration.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import rgonzalez.smbc.integration.service.VerificationSource;
+import rgonzalez.smbc.integration.tracing.CorrelationContext;
+import rgonzalez.smbc.integration.tracing.PipelineTracer;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Meters of the contacts to customer-ssn-verified pipeline.
+ * Every {@link PipelineStage} has a timer named
+ * {@code integration.pipeline.stage}, tagged with the stage, that publishes a
+ * percentile histogram so latency percentiles can be aggregated across
+ * instances. Verifications submitted but not yet answered are counted per
+ * source in the {@code integration.verification.in-flight} gauge.
+ * Stage timings of sampled journeys are also emitted as spans by the
+ * {@link PipelineTracer}.
+ */
+@Component
+public class PipelineMetrics {
+
+    private final PipelineTracer tracer;
+    private final Map<PipelineStage, Timer> stageTimers = new EnumMap<>(PipelineStage.class);
+    private final Map<VerificationSource, AtomicInteger> inFlight = new EnumMap<>(VerificationSource.class);
+
+    public PipelineMetrics(MeterRegistry meterRegistry, PipelineTracer tracer) {
+        this.tracer = tracer;
+        for (PipelineStage stage : PipelineStage.values()) {
+            stageTimers.put(stage, Timer.builder("integration.pipeline.stage")
+                    .description("Time spent in a stage of the SSN verification pipeline")
+                    .tag("stage", stage.tag())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        for (VerificationSource source : VerificationSource.values()) {
+            AtomicInteger count = new AtomicInteger();
+            inFlight.put(source, count);
+            Gauge.builder("integration.verification.in-flight", count, AtomicInteger::get)
+                    .description("SSN verifications submitted and not yet answered")
+                    .tag("source", source.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * @return the timer of the stage
+     */
+    public Timer timer(PipelineStage stage) {
+        return stageTimers.get(stage);
+    }
+
+    /**
+     * Record the time elapsed since {@code startNanos}, a {@link System#nanoTime()}
+     * reading, in the stage timer, for the journey of the current thread.
+     */
+    public void recordSince(PipelineStage stage, long startNanos) {
+        recordSince(stage, startNanos, CorrelationContext.current());
+    }
+
+    /**
+     * Record the time elapsed since {@code startNanos} in the stage timer, for
+     * the journey with the correlation id. Use this variant on threads that do
+     * not carry the correlation id, like Kafka producer callbacks.
+     */
+    public void recordSince(PipelineStage stage, long startNanos, String correlationId) {
+        long duration = System.nanoTime() - startNanos;
+        stageTimers.get(stage).record(duration, TimeUnit.NANOSECONDS);
+        tracer.span(stage, correlationId, duration);
+    }
+
+    /**
+     * Count a verification as in flight until it completes.
+     */
+    public void trackInFlight(VerificationSource source, CompletableFuture<?> verification) {
+        AtomicInteger count = inFlight.get(source);
+        count.incrementAndGet();
+        verification.whenComplete((result, exception) -> count.decrementAndGet());
+    }
+
+    /**
+     * @return the number of verifications in flight across all sources
+     */
+    public int inFlight() {
+        return inFlight.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+}
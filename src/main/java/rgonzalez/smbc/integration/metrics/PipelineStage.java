@@ -0,0 +1,64 @@
+package rgonzalez.smbc.integration.metrics;
+
+/**
+ * Stages of the contacts to customer-ssn-verified pipeline, timed by
+ * {@link PipelineMetrics}.
+ */
+public enum PipelineStage {
+
+    /**
+     * JSON deserialization of a consumed record value.
+     */
+    DESERIALIZE("deserialize"),
+
+    /**
+     * Dispatch of a business event to its handler on the listener thread.
+     */
+    DISPATCH("dispatch"),
+
+    /**
+     * Group commit of buffered business events.
+     */
+    EVENT_SAVE("event-save"),
+
+    /**
+     * From submitting a verification until the provider answered, including
+     * the wait for the provider rate limiter.
+     */
+    VERIFICATION_WAIT("verification-wait"),
+
+    /**
+     * The SSN provider call itself.
+     */
+    PROVIDER_CALL("provider-call"),
+
+    /**
+     * Save of the verification result.
+     */
+    RESULT_SAVE("result-save"),
+
+    /**
+     * From sending the outcome to customer-ssn-verified until the broker
+     * acknowledged it.
+     */
+    RESULT_SEND("result-send"),
+
+    /**
+     * From sending the summary to customer-ssn-verified-latest until the
+     * broker acknowledged it.
+     */
+    LATEST_SEND("latest-send");
+
+    private final String tag;
+
+    PipelineStage(String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * @return the value of the stage tag
+     */
+    public String tag() {
+        return tag;
+    }
+}
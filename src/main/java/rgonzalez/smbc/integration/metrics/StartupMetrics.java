@@ -0,0 +1,58 @@
+package rgonzalez.smbc.integration.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start of the instance: the time from the launch of the JVM until the
+ * contacts listener received its first record, published as the
+ * {@code integration.startup.first-record} time gauge and logged once.
+ * Unlike Spring Boot's {@code application.ready.time}, it includes partition
+ * assignment and the first fetch, so it is the time a new instance takes to
+ * start sharing the load.
+ */
+@Component
+public class StartupMetrics {
+
+    /**
+     * Start of the message logged on the first record; StartupBenchmark waits
+     * for it.
+     */
+    public static final String FIRST_RECORD_MESSAGE = "First contacts record received";
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupMetrics.class);
+
+    private final long launchedAtMillis;
+    private volatile long firstRecordMillis = -1;
+
+    public StartupMetrics(MeterRegistry meterRegistry) {
+        // More precise than the process start time, which Linux only reports to the second
+        this.launchedAtMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+        TimeGauge.builder("integration.startup.first-record", this, TimeUnit.MILLISECONDS,
+                metrics -> metrics.firstRecordMillis < 0 ? Double.NaN : metrics.firstRecordMillis)
+                .description("Time from JVM launch until the first contacts record was received")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Note a received contacts record; only the first one is recorded.
+     */
+    public void recordReceived() {
+        if (firstRecordMillis < 0) {
+            recordFirst();
+        }
+    }
+
+    private synchronized void recordFirst() {
+        if (firstRecordMillis < 0) {
+            firstRecordMillis = System.currentTimeMillis() - launchedAtMillis;
+            logger.info(FIRST_RECORD_MESSAGE + " {} ms after JVM launch", firstRecordMillis);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package rgonzalez.smbc.integration.model;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
@@ -12,12 +13,15 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "business_events", schema = "integration")
+@Table(name = "business_events", schema = "integration", indexes = {
+        @Index(name = "idx_business_events_type_created", columnList = "aggregate_name, event_name, created_timestamp")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class BusinessEvent {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "business_events_seq")
+    @SequenceGenerator(name = "business_events_seq", sequenceName = "business_events_seq", schema = "integration", allocationSize = 50)
     @JsonProperty("id")
     private Long id;
 
@@ -37,9 +41,10 @@ public class BusinessEvent {
     @JsonProperty("eventName")
     private String eventName;
 
-    @Column(nullable = false, columnDefinition = "TEXT")
-    @JsonProperty("eventPayload")
-    private String eventPayload;
+    @Column(nullable = false, updatable = false, columnDefinition = "BYTEA")
+    @Convert(converter = EventPayloadConverter.class)
+    @Immutable
+    private EventPayload eventPayload;
 
     @Column(nullable = false, length = 500)
     @JsonProperty("schema")
@@ -87,7 +92,7 @@ public class BusinessEvent {
         this.aggregateId = aggregateId;
         this.aggregateName = aggregateName;
         this.eventName = eventName;
-        this.eventPayload = eventPayload;
+        this.eventPayload = EventPayload.ofJson(eventPayload);
         this.schema = schema;
         this.correlationId = correlationId;
         this.eventDirection = eventDirection;
@@ -134,12 +139,14 @@ public class BusinessEvent {
         this.eventName = eventName;
     }
 
+    @JsonProperty("eventPayload")
     public String getEventPayload() {
-        return eventPayload;
+        return eventPayload == null ? null : eventPayload.json();
     }
 
+    @JsonProperty("eventPayload")
     public void setEventPayload(String eventPayload) {
-        this.eventPayload = eventPayload;
+        this.eventPayload = EventPayload.ofJson(eventPayload);
     }
 
     public String getSchema() {
@@ -206,7 +213,7 @@ public class BusinessEvent {
                 ", aggregateId='" + aggregateId + '\'' +
                 ", aggregateName='" + aggregateName + '\'' +
                 ", eventName='" + eventName + '\'' +
-                ", eventPayload='" + eventPayload + '\'' +
+                ", eventPayload='" + getEventPayload() + '\'' +
                 ", schema='" + schema + '\'' +
                 ", correlationId='" + correlationId + '\'' +
                 ", eventDirection='" + eventDirection + '\'' +
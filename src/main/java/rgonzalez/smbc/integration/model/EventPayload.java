@@ -0,0 +1,65 @@
+package rgonzalez.smbc.integration.model;
+
+/**
+ * Immutable holder for a business event payload.
+ * Payloads loaded from the database keep their stored bytes and are only
+ * decoded the first time the JSON is actually read; payloads received from
+ * Kafka keep their JSON and are encoded when persisted.
+ */
+public final class EventPayload {
+
+    private final byte[] encoded;
+    private volatile String json;
+
+    private EventPayload(String json, byte[] encoded) {
+        this.json = json;
+        this.encoded = encoded;
+    }
+
+    public static EventPayload ofJson(String json) {
+        return json == null ? null : new EventPayload(json, null);
+    }
+
+    public static EventPayload ofEncoded(byte[] encoded) {
+        return encoded == null ? null : new EventPayload(null, encoded);
+    }
+
+    /**
+     * @return the JSON payload, decoded on first access
+     */
+    public String json() {
+        String result = json;
+        if (result == null) {
+            result = EventPayloadCodec.decode(encoded);
+            json = result;
+        }
+        return result;
+    }
+
+    /**
+     * @param format the format to use when this payload was not loaded from the
+     *               database
+     * @return the stored representation of this payload
+     */
+    byte[] encoded(EventPayloadCodec.Format format) {
+        return encoded != null ? encoded : EventPayloadCodec.encode(json, format);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof EventPayload other && json().equals(other.json());
+    }
+
+    @Override
+    public int hashCode() {
+        return json().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return json();
+    }
+}
@@ -0,0 +1,119 @@
+package rgonzalez.smbc.integration.model;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Binary encoding of business event payloads stored in the
+ * {@code event_payload} BYTEA column.
+ * The first byte identifies the format, so rows written with different
+ * formats can be read side by side:
+ * <ul>
+ * <li>{@code 0} - plain UTF-8 JSON</li>
+ * <li>{@code 1} - DEFLATE compressed UTF-8 JSON using the shared v1
+ * dictionary</li>
+ * </ul>
+ */
+public final class EventPayloadCodec {
+
+    public enum Format {
+        PLAIN((byte) 0),
+        DEFLATE((byte) 1);
+
+        private final byte marker;
+
+        Format(byte marker) {
+            this.marker = marker;
+        }
+    }
+
+    /**
+     * Shared DEFLATE dictionary seeded with the keys and values that recur in
+     * contact payloads, so even small payloads compress well. Never change it in
+     * place: add a new format marker with a new dictionary instead.
+     */
+    private static final byte[] DICTIONARY_V1 = ("{\"id\":,\"name\":\"\",\"ssn\":\"\",\"firstName\":\"\","
+            + "\"lastName\":\"\",\"middleInitial\":\"\",\"createdBy\":\"\",\"createdTimestamp\":\"\","
+            + "\"updatedBy\":\"\",\"updatedTimestamp\":\"\",\"phones\":[],\"emails\":[],\"addresses\":[],"
+            + "null,true,false,\"system\",\"contacts-api\",\"T00:00:00\"}").getBytes(StandardCharsets.UTF_8);
+
+    private EventPayloadCodec() {
+    }
+
+    /**
+     * Encode a JSON payload.
+     *
+     * @param json   the JSON payload
+     * @param format the storage format
+     * @return the encoded bytes, starting with the format marker
+     */
+    public static byte[] encode(String json, Format format) {
+        byte[] utf8 = json.getBytes(StandardCharsets.UTF_8);
+        if (format == Format.PLAIN) {
+            byte[] encoded = new byte[utf8.length + 1];
+            encoded[0] = Format.PLAIN.marker;
+            System.arraycopy(utf8, 0, encoded, 1, utf8.length);
+            return encoded;
+        }
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setDictionary(DICTIONARY_V1);
+            deflater.setInput(utf8);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(utf8.length / 2 + 16);
+            out.write(Format.DEFLATE.marker);
+            byte[] buffer = new byte[Math.max(64, Math.min(utf8.length, 8192))];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Decode a stored payload.
+     *
+     * @param encoded the stored bytes, starting with the format marker
+     * @return the JSON payload
+     */
+    public static String decode(byte[] encoded) {
+        if (encoded.length == 0) {
+            return "";
+        }
+        if (encoded[0] == Format.PLAIN.marker) {
+            return new String(encoded, 1, encoded.length - 1, StandardCharsets.UTF_8);
+        }
+        if (encoded[0] != Format.DEFLATE.marker) {
+            throw new IllegalArgumentException("Unknown event payload format marker: " + encoded[0]);
+        }
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(encoded, 1, encoded.length - 1);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(encoded.length * 4);
+            byte[] buffer = new byte[Math.max(256, Math.min(encoded.length * 4, 8192))];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0) {
+                    if (inflater.needsDictionary()) {
+                        inflater.setDictionary(DICTIONARY_V1);
+                    } else if (inflater.needsInput()) {
+                        throw new IllegalArgumentException("Truncated event payload");
+                    }
+                }
+                out.write(buffer, 0, inflated);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt event payload", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package rgonzalez.smbc.integration.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+/**
+ * Stores {@link EventPayload}s in a BYTEA column using
+ * {@link EventPayloadCodec}.
+ * Loading only wraps the stored bytes; decompression is deferred until the
+ * payload is read. The write format is configured with
+ * {@code integration.business-events.payload-storage} (DEFLATE or PLAIN).
+ */
+@Converter
+public class EventPayloadConverter implements AttributeConverter<EventPayload, byte[]> {
+
+    private final EventPayloadCodec.Format format;
+
+    public EventPayloadConverter() {
+        this(EventPayloadCodec.Format.DEFLATE);
+    }
+
+    @Autowired
+    public EventPayloadConverter(
+            @Value("${integration.business-events.payload-storage:DEFLATE}") EventPayloadCodec.Format format) {
+        this.format = format;
+    }
+
+    @Override
+    public byte[] convertToDatabaseColumn(EventPayload payload) {
+        return payload == null ? null : payload.encoded(format);
+    }
+
+    @Override
+    public EventPayload convertToEntityAttribute(byte[] encoded) {
+        return EventPayload.ofEncoded(encoded);
+    }
+}
@@ -0,0 +1,13 @@
+package rgonzalez.smbc.integration.model;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated query.
+ *
+ * @param items      the rows of this page
+ * @param nextCursor opaque cursor for the next page, or null if this is the
+ *                   last page
+ */
+public record KeysetPage<T>(List<T> items, String nextCursor) {
+}
@@ -1,6 +1,8 @@
 package rgonzalez.smbc.integration.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
@@ -13,20 +15,33 @@ import java.time.LocalDateTime;
  * Entity for storing SSN verification results.
  * Persists verification requests and their outcomes for audit and tracking
  * purposes.
+ * Results are never changed once written, so they are kept in a read-only
+ * second-level cache region.
  */
 @Entity
-@Table(name = "ssn_verification_results", schema = "integration")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = SsnVerificationResult.CACHE_REGION)
+@Table(name = "ssn_verification_results", schema = "integration", indexes = {
+        @Index(name = "idx_ssn_verification_results_contact_created", columnList = "contact_id, created_timestamp, id"),
+        @Index(name = "idx_ssn_verification_results_ssn_created", columnList = "ssn, created_timestamp, id"),
+        @Index(name = "idx_ssn_verification_results_status_created", columnList = "status, created_timestamp, id"),
+        @Index(name = "idx_ssn_verification_results_matching_created", columnList = "is_matching, created_timestamp, id")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class SsnVerificationResult {
 
+    public static final String CACHE_REGION = "ssn-verification-results";
+    public static final String QUERY_CACHE_REGION = "ssn-verification-result-queries";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ssn_verification_results_seq")
+    @SequenceGenerator(name = "ssn_verification_results_seq", sequenceName = "ssn_verification_results_seq", schema = "integration", allocationSize = 50)
     private Long id;
 
-    @Column(nullable = false, length = 100)
+    @Column(name = "contact_id", nullable = false, length = 100)
     private String contactId;
 
-    @Column(nullable = false, length = 11)
+    @Column(name = "ssn", nullable = false, length = 11)
     private String ssn;
 
     @Column(nullable = false, length = 100)
@@ -35,10 +50,10 @@ public class SsnVerificationResult {
     @Column(nullable = false, length = 100)
     private String lastName;
 
-    @Column(nullable = true, length = 20)
+    @Column(name = "status", nullable = true, length = 20)
     private String status;
 
-    @Column(nullable = true)
+    @Column(name = "is_matching", nullable = true)
     private boolean isMatching;
 
     @Column(nullable = true, columnDefinition = "TEXT")
@@ -55,7 +70,7 @@ public class SsnVerificationResult {
     private String createdBy;
 
     @CreatedDate
-    @Column(nullable = true, updatable = false, insertable = false, columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
+    @Column(name = "created_timestamp", nullable = true, updatable = false, insertable = false, columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
     private LocalDateTime createdTimestamp;
 
     @LastModifiedBy
@@ -0,0 +1,31 @@
+package rgonzalez.smbc.integration.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight projection of an {@link SsnVerificationResult} for listing
+ * queries.
+ * Only carries the columns needed by dashboards, so rows are read straight
+ * from the index-backed query without loading full entities.
+ */
+public record SsnVerificationResultSummary(
+        Long id,
+        String contactId,
+        String status,
+        boolean isMatching,
+        String verificationSource,
+        Long verificationTimestamp,
+        LocalDateTime createdTimestamp) {
+
+    /**
+     * Summarize a persisted verification result.
+     *
+     * @param result the verification result
+     * @return the result summary
+     */
+    public static SsnVerificationResultSummary of(SsnVerificationResult result) {
+        return new SsnVerificationResultSummary(result.getId(), result.getContactId(), result.getStatus(),
+                result.isMatching(), result.getVerificationSource(), result.getVerificationTimestamp(),
+                result.getCreatedTimestamp());
+    }
+}
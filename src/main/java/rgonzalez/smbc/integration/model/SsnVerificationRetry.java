@@ -0,0 +1,191 @@
+package rgonzalez.smbc.integration.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A failed contact SSN verification waiting to be retried.
+ * Rows are claimed by retry workers once {@code nextAttemptAt} has passed and
+ * deleted after a successful attempt. A claimed row is leased by moving
+ * {@code nextAttemptAt} forward, so it becomes due again if the worker that
+ * claimed it dies.
+ * The Flyway migration V6 creates idx_ssn_verification_retries_due as a
+ * partial index over PENDING rows, which JPA cannot declare; the {@code @Index}
+ * below only gives schemas generated by Hibernate (ddl-auto) a full index of
+ * the same name.
+ */
+@Entity
+@Table(name = "ssn_verification_retries", schema = "integration", indexes = {
+        @Index(name = "idx_ssn_verification_retries_due", columnList = "next_attempt_at"),
+        @Index(name = "idx_ssn_verification_retries_contact", columnList = "contact_id")
+})
+public class SsnVerificationRetry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ssn_verification_retries_seq")
+    @SequenceGenerator(name = "ssn_verification_retries_seq", sequenceName = "ssn_verification_retries_seq", schema = "integration", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "contact_id", nullable = false, length = 100)
+    private String contactId;
+
+    @Column(nullable = true, length = 100)
+    private String ssn;
+
+    @Column(nullable = true, length = 100)
+    private String firstName;
+
+    @Column(nullable = true, length = 100)
+    private String lastName;
+
+    @Column(nullable = true, length = 50)
+    private String verificationSource;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = true, columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdTimestamp;
+
+    // Constructors
+    public SsnVerificationRetry() {
+    }
+
+    public SsnVerificationRetry(String contactId, String ssn, String firstName, String lastName,
+            String verificationSource, LocalDateTime nextAttemptAt, String lastError) {
+        this.contactId = contactId;
+        this.ssn = ssn;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.verificationSource = verificationSource;
+        this.status = Status.PENDING;
+        this.attempts = 0;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = lastError;
+        this.createdTimestamp = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getContactId() {
+        return contactId;
+    }
+
+    public void setContactId(String contactId) {
+        this.contactId = contactId;
+    }
+
+    public String getSsn() {
+        return ssn;
+    }
+
+    public void setSsn(String ssn) {
+        this.ssn = ssn;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public String getVerificationSource() {
+        return verificationSource;
+    }
+
+    public void setVerificationSource(String verificationSource) {
+        this.verificationSource = verificationSource;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getCreatedTimestamp() {
+        return createdTimestamp;
+    }
+
+    public void setCreatedTimestamp(LocalDateTime createdTimestamp) {
+        this.createdTimestamp = createdTimestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "SsnVerificationRetry{" +
+                "id=" + id +
+                ", contactId='" + contactId + '\'' +
+                ", verificationSource='" + verificationSource + '\'' +
+                ", status=" + status +
+                ", attempts=" + attempts +
+                ", nextAttemptAt=" + nextAttemptAt +
+                ", lastError='" + lastError + '\'' +
+                '}';
+    }
+
+    public enum Status {
+        /**
+         * Waiting for its next attempt, or leased by a worker.
+         */
+        PENDING,
+        /**
+         * Gave up after the maximum number of attempts.
+         */
+        DEAD
+    }
+}
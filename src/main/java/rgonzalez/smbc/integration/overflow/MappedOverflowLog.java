@@ -0,0 +1,322 @@
+package rgonzalez.smbc.integration.overflow;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.zip.CRC32C;
+
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Append-only log of records in memory-mapped segment files of a fixed size.
+ * A record is its length, the CRC32C of its payload and the payload; a length
+ * of -1 marks the rest of a segment as unused. The position of a record is
+ * {@code segment index * segment size + offset}, so positions keep growing
+ * across segments.
+ * Records are read back in the order they were appended. The reader commits
+ * the position up to which it is done to a mapped checkpoint file, and the
+ * segments before it are deleted. On open, reading resumes at the committed
+ * position, so records read but not committed before a crash are read again.
+ * The end of the log is found by validating the records of the last segment:
+ * a record torn by a crash fails the CRC check and is dropped.
+ * Writes to a mapping go to the page cache right away, so they survive a crash
+ * of the process. They only survive a crash of the host once {@link #force()}
+ * has written them to disk.
+ */
+final class MappedOverflowLog implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedOverflowLog.class);
+
+    static final int RECORD_HEADER_BYTES = 2 * Integer.BYTES;
+
+    private static final int END_OF_SEGMENT = -1;
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long maxBytes;
+    private final FileChannel checkpointChannel;
+    private final MappedByteBuffer checkpoint;
+    private final NavigableMap<Long, MappedByteBuffer> segments = new TreeMap<>();
+    private long committedPosition;
+    private long readPosition;
+    private long writePosition;
+    private long forcedIndex;
+
+    /**
+     * Open the log in the directory, creating it if needed, and recover the
+     * positions left by a previous run.
+     *
+     * @param directory   the directory of the segments and the checkpoint
+     * @param segmentSize the size of each segment file
+     * @param maxBytes    the maximum number of bytes appended but not committed
+     */
+    MappedOverflowLog(Path directory, int segmentSize, long maxBytes) throws IOException {
+        if (segmentSize <= RECORD_HEADER_BYTES) {
+            throw new IllegalArgumentException("Segment size must be larger than " + RECORD_HEADER_BYTES + " bytes");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(directory);
+        this.checkpointChannel = FileChannel.open(directory.resolve(CHECKPOINT_FILE), CREATE, READ, WRITE);
+        this.checkpoint = checkpointChannel.map(READ_WRITE, 0, Long.BYTES);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                if (Files.size(file) != segmentSize) {
+                    throw new IllegalStateException("Segment " + file + " was written with a segment size of "
+                            + Files.size(file) + " bytes, not " + segmentSize);
+                }
+                long index = Long.parseLong(file.getFileName().toString()
+                        .substring(SEGMENT_PREFIX.length(), file.getFileName().toString().length()
+                                - SEGMENT_SUFFIX.length()));
+                segments.put(index, map(index));
+            }
+        }
+        recover();
+    }
+
+    /**
+     * Append a record.
+     *
+     * @param payload the record, not empty and at most the segment size minus
+     *                the record header
+     * @return false if the log holds max bytes
+     */
+    synchronized boolean append(byte[] payload) throws IOException {
+        int recordBytes = RECORD_HEADER_BYTES + payload.length;
+        if (payload.length == 0 || recordBytes > segmentSize) {
+            throw new IllegalArgumentException("Cannot append a record of " + payload.length + " bytes");
+        }
+        long index = index(writePosition);
+        int offset = offset(writePosition);
+        boolean roll = offset + recordBytes > segmentSize;
+        long start = roll ? (index + 1) * segmentSize : writePosition;
+        if (start + recordBytes - committedPosition > maxBytes) {
+            return false;
+        }
+        if (roll) {
+            MappedByteBuffer full = segments.get(index);
+            if (full != null && offset + Integer.BYTES <= segmentSize) {
+                full.putInt(offset, END_OF_SEGMENT);
+            }
+            index++;
+            offset = 0;
+        }
+        MappedByteBuffer segment = segments.get(index);
+        if (segment == null) {
+            segment = map(index);
+            segments.put(index, segment);
+        }
+
+        // The length goes last: until it is written, the record ends the log
+        if (offset + recordBytes + Integer.BYTES <= segmentSize) {
+            segment.putInt(offset + recordBytes, 0);
+        }
+        segment.put(offset + RECORD_HEADER_BYTES, payload);
+        segment.putInt(offset + Integer.BYTES, checksum(payload));
+        segment.putInt(offset, payload.length);
+        writePosition = start + recordBytes;
+        return true;
+    }
+
+    /**
+     * Read the record after the previously read one.
+     *
+     * @return the record, or null if all appended records were read
+     */
+    synchronized Entry poll() {
+        return read(true);
+    }
+
+    /**
+     * Read the record {@link #poll()} returns next, without consuming it.
+     *
+     * @return the record, or null if all appended records were read
+     */
+    synchronized Entry peek() {
+        return read(false);
+    }
+
+    private Entry read(boolean consume) {
+        while (readPosition < writePosition) {
+            long index = index(readPosition);
+            int offset = offset(readPosition);
+            MappedByteBuffer segment = segments.get(index);
+            int length = recordLength(segment, offset);
+            if (length < 0) {
+                if (offset + RECORD_HEADER_BYTES <= segmentSize && segment.getInt(offset) != END_OF_SEGMENT) {
+                    logger.warn("Skipping corrupt overflow record at offset {} of segment {}", offset, index);
+                }
+                readPosition = (index + 1) * segmentSize;
+                continue;
+            }
+            byte[] payload = new byte[length];
+            segment.get(offset + RECORD_HEADER_BYTES, payload);
+            long endPosition = readPosition + RECORD_HEADER_BYTES + length;
+            if (consume) {
+                readPosition = endPosition;
+            }
+            return new Entry(payload, endPosition);
+        }
+        return null;
+    }
+
+    /**
+     * Commit that the records before the position are done, so they are not
+     * read again after a restart.
+     *
+     * @param position the {@link Entry#endPosition()} of the last done record
+     */
+    synchronized void commit(long position) {
+        if (position <= committedPosition) {
+            return;
+        }
+        committedPosition = position;
+        checkpoint.putLong(0, position);
+        deleteCommittedSegments();
+    }
+
+    /**
+     * Write the records appended and the position committed since the last call
+     * to disk. Appends and reads are not blocked while the pages are written.
+     */
+    void force() {
+        List<MappedByteBuffer> written;
+        synchronized (this) {
+            long lastIndex = index(writePosition);
+            written = new ArrayList<>(segments.subMap(forcedIndex, true, lastIndex, true).values());
+            forcedIndex = lastIndex;
+        }
+        written.forEach(MappedByteBuffer::force);
+        checkpoint.force();
+    }
+
+    /**
+     * @return whether records were appended that were not read yet
+     */
+    synchronized boolean hasUnread() {
+        return readPosition < writePosition;
+    }
+
+    /**
+     * @return the number of bytes appended but not committed
+     */
+    synchronized long pendingBytes() {
+        return writePosition - committedPosition;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        segments.values().forEach(MappedByteBuffer::force);
+        checkpoint.force();
+        checkpointChannel.close();
+    }
+
+    private void recover() {
+        committedPosition = checkpoint.getLong(0);
+        if (segments.isEmpty()) {
+            readPosition = committedPosition;
+            writePosition = committedPosition;
+            return;
+        }
+        committedPosition = Math.max(committedPosition, segments.firstKey() * segmentSize);
+        long lastIndex = segments.lastKey();
+        MappedByteBuffer last = segments.lastEntry().getValue();
+        long position = Math.max(committedPosition, lastIndex * segmentSize);
+        int length;
+        while (index(position) == lastIndex && (length = recordLength(last, offset(position))) >= 0) {
+            position += RECORD_HEADER_BYTES + length;
+        }
+        if (index(position) == lastIndex && offset(position) + Integer.BYTES <= segmentSize) {
+            // Drop a torn record, or a segment end written before a crash
+            last.putInt(offset(position), 0);
+        }
+        committedPosition = Math.min(committedPosition, position);
+        readPosition = committedPosition;
+        writePosition = position;
+        forcedIndex = lastIndex;
+        deleteCommittedSegments();
+        logger.info("Opened overflow log {} with {} bytes pending", directory, pendingBytes());
+    }
+
+    /**
+     * @return the length of the valid record at the offset, or -1 at the end of
+     *         the segment or if the record is torn
+     */
+    private int recordLength(MappedByteBuffer segment, int offset) {
+        if (offset + RECORD_HEADER_BYTES > segmentSize) {
+            return -1;
+        }
+        int length = segment.getInt(offset);
+        if (length <= 0 || length > segmentSize - offset - RECORD_HEADER_BYTES) {
+            return -1;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(segment.slice(offset + RECORD_HEADER_BYTES, length));
+        return (int) crc.getValue() == segment.getInt(offset + Integer.BYTES) ? length : -1;
+    }
+
+    private void deleteCommittedSegments() {
+        long firstLive = Math.min(index(committedPosition), index(writePosition));
+        while (!segments.isEmpty() && segments.firstKey() < firstLive) {
+            long index = segments.pollFirstEntry().getKey();
+            try {
+                // The mapping stays valid until it is garbage collected
+                Files.deleteIfExists(segmentFile(index));
+            } catch (IOException e) {
+                logger.warn("Failed to delete overflow segment {}: {}", segmentFile(index), e.getMessage());
+            }
+        }
+    }
+
+    private MappedByteBuffer map(long index) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentFile(index), CREATE, READ, WRITE)) {
+            return channel.map(READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private Path segmentFile(long index) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    private long index(long position) {
+        return position / segmentSize;
+    }
+
+    private int offset(long position) {
+        return (int) (position % segmentSize);
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * A record read from the log.
+     *
+     * @param payload     the record
+     * @param endPosition the position after the record, to commit once it is done
+     */
+    record Entry(byte[] payload, long endPosition) {
+    }
+}
@@ -0,0 +1,70 @@
+package rgonzalez.smbc.integration.overflow;
+
+import rgonzalez.smbc.integration.service.VerificationSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * A contact verification as it is stored in the overflow log.
+ *
+ * @param contactId     the contact ID
+ * @param ssn           the social security number
+ * @param firstName     the first name
+ * @param lastName      the last name
+ * @param source        what triggered the verification
+ * @param correlationId the correlation id of the triggering event, may be null
+ * @param spilledAt     when the verification was appended, in epoch millis
+ */
+record SpilledVerification(String contactId, String ssn, String firstName, String lastName,
+        VerificationSource source, String correlationId, long spilledAt) {
+
+    private static final byte VERSION = 1;
+
+    byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeUTF(source.name());
+            out.writeLong(spilledAt);
+            writeNullable(out, contactId);
+            writeNullable(out, ssn);
+            writeNullable(out, firstName);
+            writeNullable(out, lastName);
+            writeNullable(out, correlationId);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static SpilledVerification decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported overflow record version " + version);
+            }
+            VerificationSource source = VerificationSource.valueOf(in.readUTF());
+            long spilledAt = in.readLong();
+            return new SpilledVerification(readNullable(in), readNullable(in), readNullable(in), readNullable(in),
+                    source, readNullable(in), spilledAt);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,337 @@
+package rgonzalez.smbc.integration.overflow;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import rgonzalez.smbc.integration.config.VerificationOverflowProperties;
+import rgonzalez.smbc.integration.model.SsnVerificationResult;
+import rgonzalez.smbc.integration.ratelimit.ProviderRateLimiter;
+import rgonzalez.smbc.integration.retry.SsnVerificationRetryQueue;
+import rgonzalez.smbc.integration.service.ContactVerificationService;
+import rgonzalez.smbc.integration.service.VerificationSource;
+import rgonzalez.smbc.integration.tracing.CorrelationContext;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overflow of contact verifications to a local {@link MappedOverflowLog}.
+ * A contact import floods the contacts listener far faster than the provider
+ * quota lets the {@link ProviderRateLimiter} release verifications. Once the
+ * rate limiter queue of the source was full, further verifications were
+ * rejected and only went through after the retry back-off. Instead, a
+ * verification is appended to the log while that queue is full or earlier
+ * verifications are still waiting in the log, and a refill thread submits them
+ * back in order whenever the queue has room. The backlog is then bounded by
+ * integration.verification-overflow.max-size on disk instead of by the heap;
+ * beyond it verifications are submitted and rejected as before.
+ * The log position of a verification is committed once it and every
+ * verification before it completed or were queued for retry; a failed
+ * verification is handed to the retry queue until that succeeds. After a
+ * restart the verifications after the committed position are submitted again,
+ * so a crash of the process may repeat a verification.
+ * The Kafka offsets of spilled verifications are committed, so the log is the
+ * only copy: the log is forced to disk every
+ * integration.verification-overflow.force-interval, a crash of the host loses
+ * the verifications spilled since, and the directory must be on a persistent
+ * volume. The log holds SSNs, like the retry table, so that volume needs the
+ * protection of the database volume.
+ * {@link #backlogAge()} tells the reconciliation how far behind the log is, so
+ * it does not re-drive contacts still waiting in it.
+ */
+@Component
+public class VerificationOverflowQueue implements SmartLifecycle, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerificationOverflowQueue.class);
+
+    /**
+     * Stop the refill before the {@link rgonzalez.smbc.integration.kafka.KafkaListenerDrain}
+     * waits for the in-flight verifications.
+     */
+    public static final int PHASE = Integer.MAX_VALUE - 25;
+
+    private static final long POLL_MILLIS = 50;
+
+    private final ContactVerificationService contactVerificationService;
+    private final SsnVerificationRetryQueue retryQueue;
+    private final ProviderRateLimiter providerRateLimiter;
+    private final MappedOverflowLog log;
+    private final long forceIntervalNanos;
+    private final ArrayDeque<Refill> refilling = new ArrayDeque<>();
+    private final Counter spilled;
+    private final Counter full;
+    private final Counter refilled;
+
+    private volatile Refill next;
+    private volatile boolean running;
+    private Thread refiller;
+
+    public VerificationOverflowQueue(ContactVerificationService contactVerificationService,
+            SsnVerificationRetryQueue retryQueue,
+            ProviderRateLimiter providerRateLimiter,
+            VerificationOverflowProperties properties,
+            MeterRegistry meterRegistry) throws IOException {
+        this.contactVerificationService = contactVerificationService;
+        this.retryQueue = retryQueue;
+        this.providerRateLimiter = providerRateLimiter;
+        this.log = properties.isEnabled()
+                ? new MappedOverflowLog(Path.of(properties.getDirectory()),
+                        Math.toIntExact(properties.getSegmentSize().toBytes()), properties.getMaxSize().toBytes())
+                : null;
+        this.forceIntervalNanos = properties.getForceInterval().toNanos();
+        this.spilled = outcomeCounter(meterRegistry, "spilled");
+        this.full = outcomeCounter(meterRegistry, "full");
+        this.refilled = outcomeCounter(meterRegistry, "refilled");
+        if (log != null) {
+            Gauge.builder("integration.verification.overflow.pending", log, MappedOverflowLog::pendingBytes)
+                    .description("Bytes of overflowed SSN verifications not completed yet")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Verify a contact's SSN now or, while the rate limiter queue of the source
+     * is full, once the verifications overflowed before it were submitted.
+     * Failed verifications are queued for retry.
+     *
+     * @param contactId the contact ID
+     * @param ssn       the social security number
+     * @param firstName the first name
+     * @param lastName  the last name
+     * @param source    what triggered the verification
+     */
+    public void submit(String contactId, String ssn, String firstName, String lastName,
+            VerificationSource source) {
+        if (log != null && (next != null || log.hasUnread() || !providerRateLimiter.hasCapacity(source))
+                && spill(new SpilledVerification(contactId, ssn, firstName, lastName, source,
+                        CorrelationContext.current(), System.currentTimeMillis()))) {
+            return;
+        }
+        verify(contactId, ssn, firstName, lastName, source);
+    }
+
+    private boolean spill(SpilledVerification verification) {
+        try {
+            if (log.append(verification.encode())) {
+                spilled.increment();
+                logger.debug("Overflowed SSN verification for contact [{}]", verification.contactId());
+                return true;
+            }
+            full.increment();
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to overflow SSN verification for contact [{}]: {}", verification.contactId(),
+                    e.getMessage(), e);
+        }
+        return false;
+    }
+
+    /**
+     * @return CompletableFuture completing once the verification completed or
+     *         was queued for retry
+     */
+    private CompletableFuture<Void> verify(String contactId, String ssn, String firstName,
+            String lastName, VerificationSource source) {
+        CompletableFuture<SsnVerificationResult> verification;
+        try {
+            verification = contactVerificationService.verifyContact(contactId, ssn, firstName, lastName, source);
+        } catch (RuntimeException e) {
+            verification = CompletableFuture.failedFuture(e);
+        }
+        return verification.handle((result, exception) -> exception).thenCompose(exception -> {
+            if (exception == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            logger.error("Error during SSN verification for contact [{}]: {}", contactId,
+                    exception.getMessage(), exception);
+            return retryQueue.handOff(contactId, ssn, firstName, lastName, source, exception);
+        });
+    }
+
+    /**
+     * @return how long the oldest verification of the log not completed yet has
+     *         been waiting, or zero if there is none
+     */
+    public Duration backlogAge() {
+        if (log == null) {
+            return Duration.ZERO;
+        }
+        SpilledVerification oldest;
+        synchronized (refilling) {
+            Refill head = refilling.peekFirst();
+            oldest = head != null ? head.verification : decode(log.peek());
+        }
+        return oldest == null ? Duration.ZERO
+                : Duration.ofMillis(Math.max(0, System.currentTimeMillis() - oldest.spilledAt()));
+    }
+
+    private void refillLoop() {
+        long nextForce = System.nanoTime() + forceIntervalNanos;
+        while (running) {
+            try {
+                if (System.nanoTime() - nextForce >= 0) {
+                    log.force();
+                    nextForce = System.nanoTime() + forceIntervalNanos;
+                }
+                if (!refillNext()) {
+                    Thread.sleep(POLL_MILLIS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Failed to refill overflowed SSN verifications: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Submit the next verification of the log if the rate limiter queue of its
+     * source has room.
+     *
+     * @return false if the log is empty or the queue is full
+     */
+    private boolean refillNext() {
+        if (next == null) {
+            Refill refill;
+            // Polled and added together, so backlogAge() always sees the oldest verification
+            synchronized (refilling) {
+                MappedOverflowLog.Entry entry = log.poll();
+                if (entry == null) {
+                    return false;
+                }
+                refill = new Refill(entry.endPosition(), decode(entry));
+                refilling.addLast(refill);
+            }
+            if (refill.verification == null) {
+                logger.error("Dropping unreadable overflowed SSN verification ending at log position {}",
+                        refill.endPosition);
+                completed(refill);
+                return true;
+            }
+            next = refill;
+        }
+        Refill refill = next;
+        SpilledVerification verification = refill.verification;
+        if (!providerRateLimiter.hasCapacity(verification.source())) {
+            return false;
+        }
+        next = null;
+        refilled.increment();
+        try (CorrelationContext.Scope scope = CorrelationContext.open(verification.correlationId())) {
+            verify(verification.contactId(), verification.ssn(), verification.firstName(),
+                    verification.lastName(), verification.source())
+                    .whenComplete((result, exception) -> completed(refill));
+        }
+        return true;
+    }
+
+    /**
+     * @return the verification, or null if there is no entry or it is unreadable
+     */
+    private static SpilledVerification decode(MappedOverflowLog.Entry entry) {
+        if (entry == null) {
+            return null;
+        }
+        try {
+            return SpilledVerification.decode(entry.payload());
+        } catch (RuntimeException e) {
+            logger.debug("Unreadable overflowed SSN verification: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private void completed(Refill refill) {
+        synchronized (refilling) {
+            refill.done = true;
+            long committed = -1;
+            while (!refilling.isEmpty() && refilling.peekFirst().done) {
+                committed = refilling.pollFirst().endPosition;
+            }
+            if (committed >= 0) {
+                log.commit(committed);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (log == null) {
+            return;
+        }
+        if (log.hasUnread()) {
+            logger.info("Resuming {} bytes of overflowed SSN verifications", log.pendingBytes());
+        }
+        refiller = new Thread(this::refillLoop, "verification-overflow-refill");
+        refiller.setDaemon(true);
+        refiller.start();
+    }
+
+    /**
+     * Stop refilling; verifications submitted from the log keep committing
+     * their position as they complete, the rest stay in the log.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (refiller == null) {
+            return;
+        }
+        refiller.interrupt();
+        try {
+            refiller.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (log != null) {
+            log.close();
+        }
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("integration.verification.overflow")
+                .description("SSN verifications overflowed to and refilled from the local log")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static final class Refill {
+
+        private final long endPosition;
+        private final SpilledVerification verification;
+        private boolean done;
+
+        /**
+         * @param verification the verification, or null if it is unreadable
+         */
+        Refill(long endPosition, SpilledVerification verification) {
+            this.endPosition = endPosition;
+            this.verification = verification;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package rgonzalez.smbc.integration.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import rgonzalez.smbc.integration.config.ProviderRateLimitProperties;
+import rgonzalez.smbc.integration.service.VerificationSource;
+import rgonzalez.smbc.integration.tracing.CorrelationContext;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Rate limiter in front of the SSN verification provider.
+ * Calls wait in a {@link WeightedFairQueue} per verification source. A single
+ * dispatcher thread releases them at the provider quota using a
+ * {@link TokenBucket}, and runs them on the ssnVerificationExecutor with at most
+ * {@code integration.provider-rate-limit.max-in-flight} in flight. The backlog
+ * waits in the fair queue, not in the executor queue. Interactive REST calls
+ * therefore overtake bulk Kafka, retry and reconciliation work, and bulk work
+ * uses the quota REST leaves unused.
+ * Calls run with the MDC of the submitting thread, not of the dispatcher.
+ */
+@Component
+public class ProviderRateLimiter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProviderRateLimiter.class);
+
+    private final Executor executor;
+    private final Semaphore inFlight;
+    private final int maxQueued;
+    private final TokenBucket tokenBucket;
+    private final WeightedFairQueue<PendingCall> queue;
+    private final Map<VerificationSource, Timer> queueWaitTimers = new EnumMap<>(VerificationSource.class);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    private volatile boolean stopped;
+    private Thread dispatcher;
+
+    public ProviderRateLimiter(ProviderRateLimitProperties properties,
+            @Qualifier("ssnVerificationExecutor") Executor executor,
+            MeterRegistry meterRegistry) {
+        this.executor = executor;
+        this.inFlight = new Semaphore(properties.getMaxInFlight());
+        this.maxQueued = properties.getMaxQueued();
+        this.tokenBucket = new TokenBucket(properties.getPermitsPerSecond(), properties.getBurst(), System.nanoTime());
+        this.queue = new WeightedFairQueue<>(properties::weightOf, properties.getMaxQueued());
+        for (VerificationSource source : VerificationSource.values()) {
+            queueWaitTimers.put(source, Timer.builder("integration.verification.provider.queue.wait")
+                    .description("Time SSN provider calls wait for the rate limiter")
+                    .tag("source", source.name())
+                    .register(meterRegistry));
+            Gauge.builder("integration.verification.provider.queued", this, limiter -> limiter.queued(source))
+                    .description("SSN provider calls waiting for the rate limiter")
+                    .tag("source", source.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Queue a provider call.
+     *
+     * @param source what triggered the call
+     * @param call   the provider call
+     * @return CompletableFuture with the result of the call; completes
+     *         exceptionally with a {@link RejectedExecutionException} if the
+     *         queue of the source is full
+     */
+    public <T> CompletableFuture<T> submit(VerificationSource source, Supplier<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        PendingCall pending = new PendingCall(source, System.nanoTime(), CorrelationContext.wrap(() -> {
+            try {
+                result.complete(call.get());
+            } catch (Throwable e) {
+                // Errors too, or callers waiting for the result would wait forever
+                result.completeExceptionally(e);
+            }
+        }), result);
+
+        lock.lock();
+        try {
+            if (stopped) {
+                result.completeExceptionally(new RejectedExecutionException("Provider rate limiter is stopped"));
+            } else if (!queue.offer(source, pending)) {
+                result.completeExceptionally(new RejectedExecutionException(
+                        "Too many provider calls waiting for source " + source));
+            } else {
+                notEmpty.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return result;
+    }
+
+    /**
+     * @return whether a call of the source would be queued instead of rejected
+     *         because the queue of the source is full
+     */
+    public boolean hasCapacity(VerificationSource source) {
+        return queued(source) < maxQueued;
+    }
+
+    /**
+     * @return how long the oldest queued call of the source has been waiting, or
+     *         zero if none is queued
+     */
+    public Duration backlogAge(VerificationSource source) {
+        lock.lock();
+        try {
+            PendingCall oldest = queue.peek(source);
+            return oldest == null ? Duration.ZERO : Duration.ofNanos(System.nanoTime() - oldest.queuedAt());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int queued(VerificationSource source) {
+        lock.lock();
+        try {
+            return queue.size(source);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dispatchLoop() {
+        try {
+            while (!stopped) {
+                inFlight.acquire();
+                PendingCall next;
+                try {
+                    awaitPending();
+                    awaitToken();
+                    next = take();
+                } catch (InterruptedException e) {
+                    inFlight.release();
+                    throw e;
+                }
+                dispatch(next);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void awaitPending() throws InterruptedException {
+        lock.lock();
+        try {
+            while (queue.isEmpty()) {
+                notEmpty.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitToken() throws InterruptedException {
+        long waitNanos;
+        while ((waitNanos = tokenBucket.tryTake(System.nanoTime())) > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    // The source is picked only once a token is available, so calls queued
+    // while waiting for the token still compete for it
+    private PendingCall take() {
+        lock.lock();
+        try {
+            return queue.poll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dispatch(PendingCall call) {
+        queueWaitTimers.get(call.source()).record(System.nanoTime() - call.queuedAt(), TimeUnit.NANOSECONDS);
+        try {
+            executor.execute(() -> {
+                try {
+                    call.task().run();
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            call.result().completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public void start() {
+        dispatcher = new Thread(this::dispatchLoop, "ssn-provider-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @Override
+    public void stop() {
+        lock.lock();
+        try {
+            stopped = true;
+        } finally {
+            lock.unlock();
+        }
+        dispatcher.interrupt();
+        try {
+            dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        int abandoned = 0;
+        PendingCall pending;
+        while ((pending = take()) != null) {
+            pending.result().completeExceptionally(new RejectedExecutionException("Provider rate limiter stopped"));
+            abandoned++;
+        }
+        if (abandoned > 0) {
+            logger.warn("Abandoned {} queued provider call(s) on shutdown", abandoned);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return dispatcher != null && dispatcher.isAlive();
+    }
+
+    /**
+     * Start before the Kafka listener containers and stop after them.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 200;
+    }
+
+    private record PendingCall(VerificationSource source, long queuedAt, Runnable task,
+            CompletableFuture<?> result) {
+    }
+}
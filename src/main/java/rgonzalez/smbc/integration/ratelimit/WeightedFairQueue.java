@@ -0,0 +1,102 @@
+package rgonzalez.smbc.integration.ratelimit;
+
+import rgonzalez.smbc.integration.service.VerificationSource;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Self-clocked weighted fair queue with one FIFO per verification source.
+ * Every item is tagged with a virtual finish time of
+ * {@code max(virtual time, previous finish of its source) + 1 / weight}, and
+ * the head with the smallest tag is taken next. While several sources are
+ * backlogged each gets a share proportional to its weight; an item of an idle
+ * source is tagged just after the current virtual time, so it is taken ahead
+ * of a backlog instead of behind it. Not thread-safe.
+ *
+ * @param <T> the queued item type
+ */
+final class WeightedFairQueue<T> {
+
+    private final Map<VerificationSource, ArrayDeque<Tagged<T>>> queues = new EnumMap<>(VerificationSource.class);
+    private final Map<VerificationSource, Double> lastFinish = new EnumMap<>(VerificationSource.class);
+    private final ToIntFunction<VerificationSource> weights;
+    private final int maxQueuedPerSource;
+    private double virtualTime;
+    private int size;
+
+    WeightedFairQueue(ToIntFunction<VerificationSource> weights, int maxQueuedPerSource) {
+        this.weights = weights;
+        this.maxQueuedPerSource = maxQueuedPerSource;
+    }
+
+    /**
+     * Queue an item behind the earlier items of its source.
+     *
+     * @return false if the queue of the source is full
+     */
+    boolean offer(VerificationSource source, T item) {
+        ArrayDeque<Tagged<T>> queue = queues.computeIfAbsent(source, key -> new ArrayDeque<>());
+        if (queue.size() >= maxQueuedPerSource) {
+            return false;
+        }
+        double start = Math.max(virtualTime, lastFinish.getOrDefault(source, 0.0));
+        double finish = start + 1.0 / weights.applyAsInt(source);
+        lastFinish.put(source, finish);
+        queue.addLast(new Tagged<>(finish, item));
+        size++;
+        return true;
+    }
+
+    /**
+     * Take the item with the smallest finish tag; ties go to the source declared
+     * first.
+     *
+     * @return the item, or null if the queue is empty
+     */
+    T poll() {
+        ArrayDeque<Tagged<T>> next = null;
+        for (ArrayDeque<Tagged<T>> queue : queues.values()) {
+            Tagged<T> head = queue.peekFirst();
+            if (head != null && (next == null || head.finish() < next.peekFirst().finish())) {
+                next = queue;
+            }
+        }
+        if (next == null) {
+            return null;
+        }
+        Tagged<T> taken = next.pollFirst();
+        size--;
+        if (size == 0) {
+            // Idle: restart the virtual clock so tags stay small
+            virtualTime = 0;
+            lastFinish.clear();
+        } else {
+            virtualTime = taken.finish();
+        }
+        return taken.item();
+    }
+
+    /**
+     * @return the oldest item of the source, or null if it has none queued
+     */
+    T peek(VerificationSource source) {
+        ArrayDeque<Tagged<T>> queue = queues.get(source);
+        Tagged<T> head = queue == null ? null : queue.peekFirst();
+        return head == null ? null : head.item();
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size(VerificationSource source) {
+        ArrayDeque<Tagged<T>> queue = queues.get(source);
+        return queue == null ? 0 : queue.size();
+    }
+
+    private record Tagged<T>(double finish, T item) {
+    }
+}
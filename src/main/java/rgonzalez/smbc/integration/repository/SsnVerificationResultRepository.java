@@ -1,18 +1,43 @@
 package rgonzalez.smbc.integration.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import rgonzalez.smbc.integration.model.SsnVerificationResult;
+import rgonzalez.smbc.integration.model.SsnVerificationResultSummary;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
  * Repository for SSN verification results.
  * Provides database access for SSN verification records.
+ * Query methods run in read-only transactions, which are routed to the replica
+ * pool when read/write routing is enabled; inherited save methods keep their
+ * own read-write transactions on the primary pool.
  */
 @Repository
+@Transactional(readOnly = true)
 public interface SsnVerificationResultRepository extends JpaRepository<SsnVerificationResult, Long> {
 
+    String SUMMARY_SELECT = "select new rgonzalez.smbc.integration.model.SsnVerificationResultSummary("
+            + "r.id, r.contactId, r.status, r.isMatching, r.verificationSource, r.verificationTimestamp, "
+            + "r.createdTimestamp) from SsnVerificationResult r ";
+
+    /**
+     * Keyset condition: rows strictly after the cursor in
+     * (createdTimestamp desc, id desc) order.
+     */
+    String AFTER_CURSOR = " and (r.createdTimestamp < :cursorTimestamp"
+            + " or (r.createdTimestamp = :cursorTimestamp and r.id < :cursorId))"
+            + " order by r.createdTimestamp desc, r.id desc";
+
     /**
      * Find all verification results for a specific contact.
      * 
@@ -43,5 +68,72 @@ public interface SsnVerificationResultRepository extends JpaRepository<SsnVerifi
      * @param isMatching the matching status
      * @return list of verification results
      */
-    List<SsnVerificationResult> findByMatching(boolean isMatching);
+    @Query("select r from SsnVerificationResult r where r.isMatching = :isMatching")
+    List<SsnVerificationResult> findByMatching(@Param("isMatching") boolean isMatching);
+
+    /**
+     * Find a page of result summaries for a contact, newest first. Pages are
+     * served from the query cache until new results are saved.
+     *
+     * @param contactId       the contact ID
+     * @param cursorTimestamp created timestamp of the last row of the previous page
+     * @param cursorId        id of the last row of the previous page
+     * @param limit           maximum number of rows
+     * @return result summaries
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SsnVerificationResult.QUERY_CACHE_REGION)
+    })
+    @Query(SUMMARY_SELECT + "where r.contactId = :contactId" + AFTER_CURSOR)
+    List<SsnVerificationResultSummary> findSummariesByContactId(@Param("contactId") String contactId,
+            @Param("cursorTimestamp") LocalDateTime cursorTimestamp, @Param("cursorId") long cursorId,
+            Limit limit);
+
+    /**
+     * Find a page of result summaries for an SSN, newest first. Pages are served
+     * from the query cache until new results are saved.
+     *
+     * @param ssn             the social security number
+     * @param cursorTimestamp created timestamp of the last row of the previous page
+     * @param cursorId        id of the last row of the previous page
+     * @param limit           maximum number of rows
+     * @return result summaries
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SsnVerificationResult.QUERY_CACHE_REGION)
+    })
+    @Query(SUMMARY_SELECT + "where r.ssn = :ssn" + AFTER_CURSOR)
+    List<SsnVerificationResultSummary> findSummariesBySsn(@Param("ssn") String ssn,
+            @Param("cursorTimestamp") LocalDateTime cursorTimestamp, @Param("cursorId") long cursorId,
+            Limit limit);
+
+    /**
+     * Find a page of result summaries with a status, newest first.
+     *
+     * @param status          the verification status
+     * @param cursorTimestamp created timestamp of the last row of the previous page
+     * @param cursorId        id of the last row of the previous page
+     * @param limit           maximum number of rows
+     * @return result summaries
+     */
+    @Query(SUMMARY_SELECT + "where r.status = :status" + AFTER_CURSOR)
+    List<SsnVerificationResultSummary> findSummariesByStatus(@Param("status") String status,
+            @Param("cursorTimestamp") LocalDateTime cursorTimestamp, @Param("cursorId") long cursorId,
+            Limit limit);
+
+    /**
+     * Find a page of result summaries by matching status, newest first.
+     *
+     * @param isMatching      the matching status
+     * @param cursorTimestamp created timestamp of the last row of the previous page
+     * @param cursorId        id of the last row of the previous page
+     * @param limit           maximum number of rows
+     * @return result summaries
+     */
+    @Query(SUMMARY_SELECT + "where r.isMatching = :isMatching" + AFTER_CURSOR)
+    List<SsnVerificationResultSummary> findSummariesByMatching(@Param("isMatching") boolean isMatching,
+            @Param("cursorTimestamp") LocalDateTime cursorTimestamp, @Param("cursorId") long cursorId,
+            Limit limit);
 }
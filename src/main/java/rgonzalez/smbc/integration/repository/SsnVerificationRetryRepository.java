@@ -0,0 +1,55 @@
+package rgonzalez.smbc.integration.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import rgonzalez.smbc.integration.model.SsnVerificationRetry;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for the SSN verification retry queue.
+ */
+@Repository
+public interface SsnVerificationRetryRepository extends JpaRepository<SsnVerificationRetry, Long> {
+
+    /**
+     * Lock a batch of due retries, skipping rows already locked by other
+     * workers. Must run in a read-write transaction, which holds the row locks
+     * until the claim is committed.
+     *
+     * @param now       the current time
+     * @param batchSize maximum number of rows
+     * @return the locked retries, oldest due first
+     */
+    @Query(value = "SELECT * FROM integration.ssn_verification_retries"
+            + " WHERE status = 'PENDING' AND next_attempt_at <= :now"
+            + " ORDER BY next_attempt_at LIMIT :batchSize FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<SsnVerificationRetry> lockDue(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+
+    /**
+     * Reschedule a retry after a failed attempt.
+     *
+     * @param id            the retry id
+     * @param status        the new status
+     * @param nextAttemptAt when the retry becomes due again
+     * @param lastError     the failure message
+     * @return number of rows updated
+     */
+    @Transactional
+    @Modifying
+    @Query("update SsnVerificationRetry r set r.status = :status, r.nextAttemptAt = :nextAttemptAt,"
+            + " r.lastError = :lastError where r.id = :id")
+    int reschedule(@Param("id") Long id, @Param("status") SsnVerificationRetry.Status status,
+            @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("lastError") String lastError);
+
+    /**
+     * @param status the retry status
+     * @return number of retries with the status
+     */
+    long countByStatus(SsnVerificationRetry.Status status);
+}
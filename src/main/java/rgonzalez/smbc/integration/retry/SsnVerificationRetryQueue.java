@@ -0,0 +1,162 @@
+package rgonzalez.smbc.integration.retry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rgonzalez.smbc.integration.config.VerificationRetryProperties;
+import rgonzalez.smbc.integration.model.SsnVerificationRetry;
+import rgonzalez.smbc.integration.repository.SsnVerificationRetryRepository;
+import rgonzalez.smbc.integration.service.VerificationSource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Database-backed delayed retry queue for failed contact SSN verifications.
+ * Claiming locks due rows with {@code FOR UPDATE SKIP LOCKED} and leases them
+ * in one short transaction, so any number of workers on any number of
+ * instances can poll the same table without coordination or blocking each
+ * other.
+ */
+@Component
+public class SsnVerificationRetryQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(SsnVerificationRetryQueue.class);
+
+    private static final long HAND_OFF_RETRY_SECONDS = 5;
+
+    private final SsnVerificationRetryRepository retryRepository;
+    private final VerificationRetryProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    public SsnVerificationRetryQueue(SsnVerificationRetryRepository retryRepository,
+            VerificationRetryProperties properties,
+            PlatformTransactionManager transactionManager) {
+        this.retryRepository = retryRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Queue a failed verification for a later attempt.
+     *
+     * @param contactId          the contact ID
+     * @param ssn                the social security number
+     * @param firstName          the first name
+     * @param lastName           the last name
+     * @param source             what triggered the verification
+     * @param cause              why the verification failed
+     */
+    public void enqueue(String contactId, String ssn, String firstName, String lastName,
+            VerificationSource source, Throwable cause) {
+        SsnVerificationRetry retry = new SsnVerificationRetry(contactId, ssn, firstName, lastName,
+                source.label(), LocalDateTime.now().plus(properties.backoffAfter(0)), describe(cause));
+        retryRepository.save(retry);
+        logger.info("Queued SSN verification retry [{}] for contact [{}] due at {}", retry.getId(), contactId,
+                retry.getNextAttemptAt());
+    }
+
+    /**
+     * Record a contact that cannot be verified at all, e.g. because its event
+     * cannot be read, as a DEAD retry, so it is not attempted again.
+     *
+     * @param contactId          the contact ID
+     * @param source             what triggered the verification
+     * @param cause              why the contact cannot be verified
+     */
+    public void recordDead(String contactId, VerificationSource source, Throwable cause) {
+        SsnVerificationRetry retry = new SsnVerificationRetry(contactId, null, null, null, source.label(),
+                LocalDateTime.now(), describe(cause));
+        retry.setStatus(SsnVerificationRetry.Status.DEAD);
+        retryRepository.save(retry);
+        logger.warn("Recorded contact [{}] as DEAD retry [{}]: {}", contactId, retry.getId(), retry.getLastError());
+    }
+
+    /**
+     * Queue a failed verification like {@link #enqueue}, for callers that must
+     * not give up on it. While the queue cannot be written, e.g. with the
+     * database down, it is tried again every {@value #HAND_OFF_RETRY_SECONDS}
+     * seconds.
+     *
+     * @param contactId          the contact ID
+     * @param ssn                the social security number
+     * @param firstName          the first name
+     * @param lastName           the last name
+     * @param source             what triggered the verification
+     * @param cause              why the verification failed
+     * @return CompletableFuture completing once the verification is queued
+     */
+    public CompletableFuture<Void> handOff(String contactId, String ssn, String firstName, String lastName,
+            VerificationSource source, Throwable cause) {
+        try {
+            enqueue(contactId, ssn, firstName, lastName, source, cause);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            logger.error("Failed to queue SSN verification retry for contact [{}], trying again in {} s: {}",
+                    contactId, HAND_OFF_RETRY_SECONDS, e.getMessage(), e);
+            return CompletableFuture.runAsync(() -> {
+            }, CompletableFuture.delayedExecutor(HAND_OFF_RETRY_SECONDS, TimeUnit.SECONDS))
+                    .thenCompose(ignored -> handOff(contactId, ssn, firstName, lastName, source, cause));
+        }
+    }
+
+    /**
+     * Claim due retries. Each claimed retry counts as an attempt and is leased
+     * for {@code integration.verification-retry.lease}.
+     *
+     * @param maxRetries maximum number of retries to claim
+     * @return the claimed retries
+     */
+    public List<SsnVerificationRetry> claimDue(int maxRetries) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<SsnVerificationRetry> due = retryRepository.lockDue(now, maxRetries);
+            LocalDateTime leaseExpiry = now.plus(properties.getLease());
+            for (SsnVerificationRetry retry : due) {
+                retry.setAttempts(retry.getAttempts() + 1);
+                retry.setNextAttemptAt(leaseExpiry);
+            }
+            return due;
+        });
+    }
+
+    /**
+     * Remove a retry after a successful attempt.
+     *
+     * @param retry the claimed retry
+     */
+    public void complete(SsnVerificationRetry retry) {
+        retryRepository.deleteById(retry.getId());
+    }
+
+    /**
+     * Reschedule a retry after a failed attempt with exponential backoff, or
+     * mark it DEAD once it has used up its attempts.
+     *
+     * @param retry the claimed retry
+     * @param cause why the attempt failed
+     * @return true if the retry was marked DEAD
+     */
+    public boolean fail(SsnVerificationRetry retry, Throwable cause) {
+        boolean dead = retry.getAttempts() >= properties.getMaxAttempts();
+        SsnVerificationRetry.Status status = dead ? SsnVerificationRetry.Status.DEAD
+                : SsnVerificationRetry.Status.PENDING;
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plus(properties.backoffAfter(retry.getAttempts()));
+        retryRepository.reschedule(retry.getId(), status, nextAttemptAt, describe(cause));
+        if (dead) {
+            logger.error("Giving up SSN verification retry [{}] for contact [{}] after {} attempt(s)",
+                    retry.getId(), retry.getContactId(), retry.getAttempts());
+        }
+        return dead;
+    }
+
+    private static String describe(Throwable cause) {
+        Throwable root = cause instanceof CompletionException && cause.getCause() != null ? cause.getCause() : cause;
+        return root == null ? null : root.getClass().getSimpleName() + ": " + root.getMessage();
+    }
+}
@@ -0,0 +1,111 @@
+package rgonzalez.smbc.integration.retry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import rgonzalez.smbc.integration.config.VerificationRetryProperties;
+import rgonzalez.smbc.integration.model.SsnVerificationResult;
+import rgonzalez.smbc.integration.model.SsnVerificationRetry;
+import rgonzalez.smbc.integration.service.ContactVerificationService;
+import rgonzalez.smbc.integration.service.VerificationSource;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Polls the retry queue and re-drives due verifications through
+ * {@link ContactVerificationService}.
+ * At most {@code integration.verification-retry.concurrency} retries are in
+ * flight on this instance; a poll only claims as many rows as there are free
+ * slots, leaving the rest to other instances. Runs on the scheduler thread and
+ * the verification executor, never on the Kafka consumer.
+ */
+@Component
+@ConditionalOnProperty(name = "integration.verification-retry.enabled", havingValue = "true", matchIfMissing = true)
+public class SsnVerificationRetryWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(SsnVerificationRetryWorker.class);
+
+    private final SsnVerificationRetryQueue retryQueue;
+    private final ContactVerificationService contactVerificationService;
+    private final VerificationRetryProperties properties;
+    private final Semaphore inFlight;
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter dead;
+
+    public SsnVerificationRetryWorker(SsnVerificationRetryQueue retryQueue,
+            ContactVerificationService contactVerificationService,
+            VerificationRetryProperties properties,
+            MeterRegistry meterRegistry) {
+        this.retryQueue = retryQueue;
+        this.contactVerificationService = contactVerificationService;
+        this.properties = properties;
+        this.inFlight = new Semaphore(properties.getConcurrency());
+        this.succeeded = outcomeCounter(meterRegistry, "succeeded");
+        this.failed = outcomeCounter(meterRegistry, "failed");
+        this.dead = outcomeCounter(meterRegistry, "dead");
+    }
+
+    @Scheduled(fixedDelayString = "${integration.verification-retry.poll-interval-ms:1000}")
+    public void poll() {
+        int freeSlots = inFlight.availablePermits();
+        if (freeSlots == 0) {
+            return;
+        }
+        List<SsnVerificationRetry> claimed;
+        try {
+            claimed = retryQueue.claimDue(Math.min(properties.getBatchSize(), freeSlots));
+        } catch (DataAccessException e) {
+            logger.error("Failed to claim SSN verification retries: {}", e.getMessage(), e);
+            return;
+        }
+        for (SsnVerificationRetry retry : claimed) {
+            inFlight.acquireUninterruptibly();
+            attempt(retry);
+        }
+    }
+
+    private void attempt(SsnVerificationRetry retry) {
+        logger.info("Retrying SSN verification [{}] for contact [{}], attempt {}", retry.getId(),
+                retry.getContactId(), retry.getAttempts());
+        CompletableFuture<SsnVerificationResult> verification;
+        try {
+            verification = contactVerificationService.verifyContact(retry.getContactId(), retry.getSsn(),
+                    retry.getFirstName(), retry.getLastName(), VerificationSource.RETRY);
+        } catch (RuntimeException e) {
+            verification = CompletableFuture.failedFuture(e);
+        }
+        verification.whenComplete((result, exception) -> {
+            try {
+                if (exception == null) {
+                    retryQueue.complete(retry);
+                    succeeded.increment();
+                } else if (retryQueue.fail(retry, exception)) {
+                    dead.increment();
+                } else {
+                    failed.increment();
+                }
+            } catch (DataAccessException e) {
+                // The lease expires and the retry is claimed again
+                logger.error("Failed to record outcome of SSN verification retry [{}]: {}", retry.getId(),
+                        e.getMessage(), e);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("integration.verification.retries")
+                .description("SSN verification retry attempts by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,48 @@
+package rgonzalez.smbc.integration.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Bulk loading of historical data for migrations and backfills.
+ * Rows are streamed into PostgreSQL with binary COPY instead of being inserted
+ * one by one through JPA. Each ingest runs as a single COPY, so either all
+ * accepted rows are loaded or none are.
+ */
+public interface BulkIngestService {
+
+    enum Target {
+        BUSINESS_EVENTS,
+        SSN_VERIFICATION_RESULTS
+    }
+
+    /**
+     * Load an NDJSON file, one JSON document per line. Lines that cannot be
+     * parsed or lack required columns are counted as rejected and skipped.
+     *
+     * @param target the table to load
+     * @param file   the NDJSON file
+     * @return the ingest report
+     * @throws IOException if the file cannot be read
+     */
+    IngestReport ingestFile(Target target, Path file) throws IOException;
+
+    /**
+     * Load business events from an offset range of one partition of the
+     * contacts topic. No consumer offsets are committed.
+     *
+     * @param partition  the topic partition
+     * @param fromOffset the first offset, inclusive
+     * @param toOffset   the last offset, exclusive
+     * @return the ingest report
+     */
+    IngestReport ingestContactsTopic(int partition, long fromOffset, long toOffset);
+
+    record IngestReport(
+            Target target,
+            String source,
+            long rowsCopied,
+            long rowsRejected,
+            long elapsedMillis) {
+    }
+}
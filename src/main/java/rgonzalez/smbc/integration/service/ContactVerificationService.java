@@ -0,0 +1,34 @@
+package rgonzalez.smbc.integration.service;
+
+import rgonzalez.smbc.integration.model.SsnVerificationResult;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Verifies the SSN of a contact end to end: runs the SSN verification,
+ * persists the result and publishes it to the customer-ssn-verified topic keyed
+ * by contact id.
+ */
+public interface ContactVerificationService {
+
+    /**
+     * Status of verifications that failed for a transient reason and are worth
+     * retrying.
+     */
+    String ERROR_STATUS = "ERROR";
+
+    /**
+     * Asynchronously verify a contact's SSN.
+     *
+     * @param contactId          the contact ID
+     * @param ssn                the social security number
+     * @param firstName          the first name
+     * @param lastName           the last name
+     * @param source             what triggered the verification
+     * @return CompletableFuture with the persisted result; completes
+     *         exceptionally if the verification ended with an
+     *         {@value #ERROR_STATUS} status or the result could not be persisted
+     */
+    CompletableFuture<SsnVerificationResult> verifyContact(String contactId, String ssn, String firstName,
+            String lastName, VerificationSource source);
+}
@@ -0,0 +1,21 @@
+package rgonzalez.smbc.integration.service;
+
+import rgonzalez.smbc.integration.model.SsnVerificationResultSummary;
+
+import java.util.Optional;
+
+/**
+ * Lookup of the latest SSN verification per contact from the local
+ * materialized view of the customer-ssn-verified-latest topic.
+ */
+public interface LatestSsnVerificationService {
+
+    /**
+     * Find the latest verification of a contact.
+     *
+     * @param contactId the contact ID
+     * @return the latest result summary, or empty if the contact has none
+     * @throws IllegalStateException if the local store is not available yet
+     */
+    Optional<SsnVerificationResultSummary> findLatest(String contactId);
+}
@@ -0,0 +1,41 @@
+package rgonzalez.smbc.integration.service;
+
+/**
+ * Format check for social security numbers written as XXX-XX-XXXX.
+ * Scans the characters directly instead of running
+ * {@code ^\d{3}-\d{2}-\d{4}$} through a regex matcher, as the check runs for
+ * every verification request.
+ */
+public final class SsnFormat {
+
+    private static final int LENGTH = 11;
+    private static final int FIRST_DASH = 3;
+    private static final int SECOND_DASH = 6;
+
+    private SsnFormat() {
+    }
+
+    /**
+     * Check the SSN format.
+     *
+     * @param ssn the SSN to check
+     * @return true if the SSN is three ASCII digits, a dash, two digits, a dash
+     *         and four digits
+     */
+    public static boolean isValid(String ssn) {
+        if (ssn == null || ssn.length() != LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < LENGTH; i++) {
+            char c = ssn.charAt(i);
+            if (i == FIRST_DASH || i == SECOND_DASH) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
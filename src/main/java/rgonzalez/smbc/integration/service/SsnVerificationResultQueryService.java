@@ -0,0 +1,56 @@
+package rgonzalez.smbc.integration.service;
+
+import rgonzalez.smbc.integration.model.KeysetPage;
+import rgonzalez.smbc.integration.model.SsnVerificationResultSummary;
+
+/**
+ * Read-only query service for persisted SSN verification results.
+ * All queries return result summaries newest first, paginated with an opaque
+ * keyset cursor instead of offsets so each page is a bounded index range scan.
+ */
+public interface SsnVerificationResultQueryService {
+
+    /**
+     * Find verification results for a contact.
+     *
+     * @param contactId the contact ID
+     * @param cursor    cursor returned with the previous page, or null for the
+     *                  first page
+     * @param limit     maximum number of rows
+     * @return a page of result summaries
+     */
+    KeysetPage<SsnVerificationResultSummary> findByContactId(String contactId, String cursor, int limit);
+
+    /**
+     * Find verification results for an SSN.
+     *
+     * @param ssn    the social security number
+     * @param cursor cursor returned with the previous page, or null for the first
+     *               page
+     * @param limit  maximum number of rows
+     * @return a page of result summaries
+     */
+    KeysetPage<SsnVerificationResultSummary> findBySsn(String ssn, String cursor, int limit);
+
+    /**
+     * Find verification results with a status.
+     *
+     * @param status the verification status
+     * @param cursor cursor returned with the previous page, or null for the first
+     *               page
+     * @param limit  maximum number of rows
+     * @return a page of result summaries
+     */
+    KeysetPage<SsnVerificationResultSummary> findByStatus(String status, String cursor, int limit);
+
+    /**
+     * Find verification results by matching status.
+     *
+     * @param isMatching the matching status
+     * @param cursor     cursor returned with the previous page, or null for the
+     *                   first page
+     * @param limit      maximum number of rows
+     * @return a page of result summaries
+     */
+    KeysetPage<SsnVerificationResultSummary> findByMatching(boolean isMatching, String cursor, int limit);
+}
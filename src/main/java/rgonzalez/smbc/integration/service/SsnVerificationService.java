@@ -19,6 +19,22 @@ public interface SsnVerificationService {
      */
     CompletableFuture<SsnVerificationResult> verifySSNMatch(String ssn, String firstName, String lastName);
 
+    /**
+     * Asynchronously verify if a social security number matches the provided name
+     * on behalf of a verification source. The provider call is rate limited and
+     * scheduled fairly across sources.
+     * 
+     * @param ssn       the social security number to verify (format: XXX-XX-XXXX)
+     * @param firstName the first name to match against
+     * @param lastName  the last name to match against
+     * @param source    what triggered the verification
+     * @return CompletableFuture<SsnVerificationResult> containing the verification
+     *         result; completes exceptionally if the provider queue of the
+     *         source is full
+     */
+    CompletableFuture<SsnVerificationResult> verifySSNMatch(String ssn, String firstName, String lastName,
+            VerificationSource source);
+
     /**
      * Asynchronously verify if a social security number matches the provided full
      * name.
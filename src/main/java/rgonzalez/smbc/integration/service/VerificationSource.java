@@ -0,0 +1,49 @@
+package rgonzalez.smbc.integration.service;
+
+/**
+ * What triggered an SSN verification.
+ * Provider calls are scheduled fairly across sources, and the label is stored
+ * with the verification result and retry.
+ */
+public enum VerificationSource {
+
+    /**
+     * Interactive calls to the verification REST API.
+     */
+    REST("Rest"),
+
+    /**
+     * ContactCreated events on the contacts topic.
+     */
+    CONTACTS_TOPIC("KafkaEventHandler"),
+
+    /**
+     * Requests from other services on the customer-verifications topic.
+     */
+    CUSTOMER_VERIFICATIONS_TOPIC("CustomerVerificationsTopic"),
+
+    /**
+     * Attempts of the durable verification retry queue.
+     */
+    RETRY("Retry"),
+
+    /**
+     * Contacts re-driven by the verification reconciliation job.
+     */
+    RECONCILIATION("Reconciliation");
+
+    private final String label;
+
+    VerificationSource(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Returns the label persisted as verification source.
+     *
+     * @return the label
+     */
+    public String label() {
+        return label;
+    }
+}
@@ -0,0 +1,466 @@
+package rgonzalez.smbc.integration.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import jakarta.persistence.EntityManagerFactory;
+import org.apache.kafka.common.TopicPartition;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Service;
+import rgonzalez.smbc.integration.config.KafkaConfig;
+import rgonzalez.smbc.integration.model.BusinessEvent;
+import rgonzalez.smbc.integration.model.EventPayloadCodec;
+import rgonzalez.smbc.integration.model.SsnVerificationResult;
+import rgonzalez.smbc.integration.service.BulkIngestService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Binary COPY implementation of {@link BulkIngestService}.
+ * A parser thread reads the source and hands rows over in chunks through a
+ * bounded staging queue; the calling thread drains the queue into a single
+ * {@code COPY ... FROM STDIN (FORMAT BINARY)}. The bounded queue keeps memory
+ * flat however large the source is, and lets parsing and COPY overlap.
+ * Ids are taken from the entity sequences in pooled-lo blocks, so rows loaded
+ * here never collide with ids Hibernate hands out.
+ */
+@Service
+public class BulkIngestServiceImpl implements BulkIngestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkIngestServiceImpl.class);
+
+    private static final int CHUNK_SIZE = 1000;
+    /**
+     * Must match the allocationSize of the entity sequence generators.
+     */
+    private static final int ID_ALLOCATION_SIZE = 50;
+    private static final int COPY_BUFFER_SIZE = 256 * 1024;
+    private static final long PROGRESS_INTERVAL = 100_000;
+    private static final String INGEST_USER = "bulk-ingest";
+    private static final String CONSUMER_GROUP = "integration-bulk-ingest";
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+    private static final int MAX_IDLE_POLLS = 10;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ConsumerFactory<String, BusinessEvent> contactsConsumerFactory;
+    private final ObjectMapper objectMapper;
+    private final EventPayloadCodec.Format payloadFormat;
+    private final int stagingChunks;
+
+    public BulkIngestServiceImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+            ConsumerFactory<String, BusinessEvent> contactsConsumerFactory,
+            @Value("${integration.business-events.payload-storage:DEFLATE}") EventPayloadCodec.Format payloadFormat,
+            @Value("${integration.bulk-ingest.staging-chunks:8}") int stagingChunks) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.contactsConsumerFactory = contactsConsumerFactory;
+        this.payloadFormat = payloadFormat;
+        this.stagingChunks = stagingChunks;
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+        this.objectMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    @Override
+    public IngestReport ingestFile(Target target, Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            return switch (target) {
+                case BUSINESS_EVENTS -> copy(target, file.toString(), new BusinessEventRows(),
+                        staging -> readNdjson(reader, BusinessEvent.class, staging));
+                case SSN_VERIFICATION_RESULTS -> {
+                    IngestReport report = copy(target, file.toString(), new SsnVerificationResultRows(),
+                            staging -> readNdjson(reader, SsnVerificationResult.class, staging));
+                    evictSsnVerificationResultCaches();
+                    yield report;
+                }
+            };
+        }
+    }
+
+    /**
+     * COPY bypasses Hibernate, so cached finder results would not see the new
+     * rows until they expire.
+     */
+    private void evictSsnVerificationResultCaches() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                .evictQueryRegion(SsnVerificationResult.QUERY_CACHE_REGION);
+    }
+
+    @Override
+    public IngestReport ingestContactsTopic(int partition, long fromOffset, long toOffset) {
+        if (fromOffset < 0 || toOffset < fromOffset) {
+            throw new IllegalArgumentException("Invalid offset range [" + fromOffset + ", " + toOffset + ")");
+        }
+        String source = KafkaConfig.CONTACTS_TOPIC + "-" + partition + "@[" + fromOffset + "," + toOffset + ")";
+        return copy(Target.BUSINESS_EVENTS, source, new BusinessEventRows(),
+                staging -> readContactsTopic(partition, fromOffset, toOffset, staging));
+    }
+
+    private <T> IngestReport copy(Target target, String source, RowFormat<T> format, RowSource<T> rowSource) {
+        long started = System.nanoTime();
+        Staging<T> staging = new Staging<>(stagingChunks, format);
+        AtomicReference<Exception> parseFailure = new AtomicReference<>();
+
+        Thread parser = new Thread(() -> {
+            try {
+                rowSource.produce(staging);
+                staging.flush();
+            } catch (InterruptedException e) {
+                // the COPY side gave up
+                return;
+            } catch (Exception e) {
+                parseFailure.set(e);
+            }
+            staging.close();
+        }, "bulk-ingest-parser");
+
+        logger.info("Starting bulk ingest of {} into {}", source, target);
+        parser.start();
+        try {
+            long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                PGCopyOutputStream copyOut = new PGCopyOutputStream(connection.unwrap(PGConnection.class),
+                        format.copySql(), COPY_BUFFER_SIZE);
+                try {
+                    PgBinaryCopyWriter writer = new PgBinaryCopyWriter(copyOut);
+                    long rows = copyRows(writer, staging, format, source);
+                    if (parseFailure.get() != null) {
+                        throw new IllegalStateException("Failed reading " + source + ": "
+                                + parseFailure.get().getMessage(), parseFailure.get());
+                    }
+                    // ending the COPY commits every row at once
+                    writer.close();
+                    return rows;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    if (copyOut.isActive()) {
+                        copyOut.cancelCopy();
+                    }
+                }
+            });
+            IngestReport report = new IngestReport(target, source, copied, staging.rejected(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            logger.info("Bulk ingest of {} into {} finished: {} row(s) copied, {} rejected in {} ms", source, target,
+                    report.rowsCopied(), report.rowsRejected(), report.elapsedMillis());
+            return report;
+        } finally {
+            parser.interrupt();
+            try {
+                parser.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Drain the staging queue into the COPY stream until the end of the source.
+     */
+    private <T> long copyRows(PgBinaryCopyWriter writer, Staging<T> staging, RowFormat<T> format, String source)
+            throws IOException {
+        IdAllocator ids = new IdAllocator(format.sequence());
+        LocalDateTime now = LocalDateTime.now();
+        long copied = 0;
+        try {
+            for (List<T> chunk = staging.take(); !chunk.isEmpty(); chunk = staging.take()) {
+                for (T row : chunk) {
+                    format.write(writer, ids.next(), row, now);
+                }
+                long before = copied;
+                copied += chunk.size();
+                if (copied / PROGRESS_INTERVAL > before / PROGRESS_INTERVAL) {
+                    logger.info("Bulk ingest of {}: {} row(s) streamed", source, copied);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while ingesting " + source, e);
+        }
+        return copied;
+    }
+
+    private <T> void readNdjson(BufferedReader reader, Class<T> type, Staging<T> staging)
+            throws IOException, InterruptedException {
+        ObjectReader rowReader = objectMapper.readerFor(type);
+        long lineNumber = 0;
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                staging.add(rowReader.readValue(line));
+            } catch (JsonProcessingException e) {
+                logger.debug("Rejected line {}: {}", lineNumber, e.getOriginalMessage());
+                staging.reject();
+            }
+        }
+    }
+
+    private void readContactsTopic(int partition, long fromOffset, long toOffset, Staging<BusinessEvent> staging)
+            throws InterruptedException {
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(CHUNK_SIZE));
+        TopicPartition topicPartition = new TopicPartition(KafkaConfig.CONTACTS_TOPIC, partition);
+
+        try (Consumer<String, BusinessEvent> consumer = contactsConsumerFactory.createConsumer(CONSUMER_GROUP,
+                INGEST_USER, null, overrides)) {
+            consumer.assign(List.of(topicPartition));
+            consumer.seek(topicPartition, fromOffset);
+            long position = fromOffset;
+            int idlePolls = 0;
+            while (position < toOffset && idlePolls < MAX_IDLE_POLLS) {
+                ConsumerRecords<String, BusinessEvent> records = consumer.poll(POLL_TIMEOUT);
+                idlePolls = records.isEmpty() ? idlePolls + 1 : 0;
+                for (ConsumerRecord<String, BusinessEvent> record : records.records(topicPartition)) {
+                    if (record.offset() >= toOffset) {
+                        break;
+                    }
+                    position = record.offset() + 1;
+                    if (record.value() == null) {
+                        // tombstone or a value the ErrorHandlingDeserializer could not read
+                        staging.reject();
+                    } else {
+                        staging.add(record.value());
+                    }
+                }
+            }
+            if (position < toOffset) {
+                logger.warn("No more records on {} after offset {}; requested end offset was {}", topicPartition,
+                        position, toOffset);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowSource<T> {
+        void produce(Staging<T> staging) throws Exception;
+    }
+
+    /**
+     * Column layout of one COPY target.
+     */
+    private interface RowFormat<T> {
+
+        String copySql();
+
+        String sequence();
+
+        boolean isComplete(T row);
+
+        void write(PgBinaryCopyWriter writer, long id, T row, LocalDateTime now) throws IOException;
+    }
+
+    private final class BusinessEventRows implements RowFormat<BusinessEvent> {
+
+        @Override
+        public String copySql() {
+            return "COPY integration.business_events (id, event_id, aggregate_id, aggregate_name, event_name, "
+                    + "event_payload, schema, correlation_id, event_direction, created_by, created_timestamp, "
+                    + "updated_by, updated_timestamp) FROM STDIN (FORMAT BINARY)";
+        }
+
+        @Override
+        public String sequence() {
+            return "integration.business_events_seq";
+        }
+
+        @Override
+        public boolean isComplete(BusinessEvent event) {
+            return event.getEventId() != null && event.getAggregateId() != null
+                    && event.getAggregateName() != null && event.getEventName() != null
+                    && event.getEventPayload() != null && event.getSchema() != null;
+        }
+
+        @Override
+        public void write(PgBinaryCopyWriter writer, long id, BusinessEvent event, LocalDateTime now)
+                throws IOException {
+            String createdBy = event.getCreatedBy() != null ? event.getCreatedBy() : INGEST_USER;
+            LocalDateTime created = event.getCreatedTimestamp() != null ? event.getCreatedTimestamp() : now;
+            BusinessEvent.EventDirection direction = event.getEventDirection() != null
+                    ? event.getEventDirection()
+                    : BusinessEvent.EventDirection.INBOUND;
+
+            writer.startRow(13);
+            writer.writeLong(id);
+            writer.writeText(event.getEventId());
+            writer.writeText(event.getAggregateId());
+            writer.writeText(event.getAggregateName());
+            writer.writeText(event.getEventName());
+            writer.writeBytes(EventPayloadCodec.encode(event.getEventPayload(), payloadFormat));
+            writer.writeText(event.getSchema());
+            writer.writeText(event.getCorrelationId());
+            writer.writeText(direction.name());
+            writer.writeText(createdBy);
+            writer.writeTimestamp(created);
+            writer.writeText(event.getUpdatedBy() != null ? event.getUpdatedBy() : createdBy);
+            writer.writeTimestamp(event.getUpdatedTimestamp() != null ? event.getUpdatedTimestamp() : created);
+        }
+    }
+
+    private static final class SsnVerificationResultRows implements RowFormat<SsnVerificationResult> {
+
+        @Override
+        public String copySql() {
+            return "COPY integration.ssn_verification_results (id, contact_id, ssn, first_name, last_name, status, "
+                    + "is_matching, message, verification_source, verification_timestamp, created_by, "
+                    + "created_timestamp, updated_by, updated_timestamp) FROM STDIN (FORMAT BINARY)";
+        }
+
+        @Override
+        public String sequence() {
+            return "integration.ssn_verification_results_seq";
+        }
+
+        @Override
+        public boolean isComplete(SsnVerificationResult result) {
+            return result.getContactId() != null && result.getSsn() != null
+                    && result.getFirstName() != null && result.getLastName() != null;
+        }
+
+        @Override
+        public void write(PgBinaryCopyWriter writer, long id, SsnVerificationResult result, LocalDateTime now)
+                throws IOException {
+            String createdBy = result.getCreatedBy() != null ? result.getCreatedBy() : INGEST_USER;
+            LocalDateTime created = result.getCreatedTimestamp() != null ? result.getCreatedTimestamp() : now;
+
+            writer.startRow(14);
+            writer.writeLong(id);
+            writer.writeText(result.getContactId());
+            writer.writeText(result.getSsn());
+            writer.writeText(result.getFirstName());
+            writer.writeText(result.getLastName());
+            writer.writeText(result.getStatus());
+            writer.writeBoolean(result.isMatching());
+            writer.writeText(result.getMessage());
+            writer.writeText(result.getVerificationSource());
+            writer.writeLong(result.getVerificationTimestamp());
+            writer.writeText(createdBy);
+            writer.writeTimestamp(created);
+            writer.writeText(result.getUpdatedBy() != null ? result.getUpdatedBy() : createdBy);
+            writer.writeTimestamp(result.getUpdatedTimestamp() != null ? result.getUpdatedTimestamp() : created);
+        }
+    }
+
+    /**
+     * Hands out ids from blocks of {@link #ID_ALLOCATION_SIZE}, each block
+     * starting at one sequence value as with Hibernate's pooled-lo optimizer.
+     * Blocks are fetched a chunk at a time on a separate pooled connection,
+     * since the COPY connection cannot run other statements.
+     */
+    private final class IdAllocator {
+
+        private final String nextBlocksSql;
+        private final Deque<Long> blocks = new ArrayDeque<>();
+        private long next;
+        private int remaining;
+
+        IdAllocator(String sequence) {
+            this.nextBlocksSql = "SELECT nextval('" + sequence + "') FROM generate_series(1, ?)";
+        }
+
+        long next() {
+            if (remaining == 0) {
+                if (blocks.isEmpty()) {
+                    blocks.addAll(jdbcTemplate.queryForList(nextBlocksSql, Long.class,
+                            CHUNK_SIZE / ID_ALLOCATION_SIZE));
+                }
+                next = blocks.poll();
+                remaining = ID_ALLOCATION_SIZE;
+            }
+            remaining--;
+            return next++;
+        }
+    }
+
+    /**
+     * Bounded hand-off between the parser thread and the COPY thread. An empty
+     * chunk marks the end of the source.
+     */
+    private static final class Staging<T> {
+
+        private static final List<Object> END = List.of();
+
+        private final BlockingQueue<List<T>> queue;
+        private final RowFormat<T> format;
+        private List<T> chunk = new ArrayList<>(CHUNK_SIZE);
+        private volatile long rejected;
+
+        Staging(int capacity, RowFormat<T> format) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.format = format;
+        }
+
+        void add(T row) throws InterruptedException {
+            if (!format.isComplete(row)) {
+                reject();
+                return;
+            }
+            chunk.add(row);
+            if (chunk.size() == CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        void reject() {
+            rejected++;
+        }
+
+        long rejected() {
+            return rejected;
+        }
+
+        void flush() throws InterruptedException {
+            if (!chunk.isEmpty()) {
+                queue.put(chunk);
+                chunk = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+
+        /**
+         * Signal the end of the source, after all rows or after a failure.
+         */
+        @SuppressWarnings("unchecked")
+        void close() {
+            try {
+                queue.put((List<T>) END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        List<T> take() throws InterruptedException {
+            return queue.take();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package rgonzalez.smbc.integration.service.impl;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import rgonzalez.smbc.integration.config.KafkaConfig;
+import rgonzalez.smbc.integration.metrics.PipelineMetrics;
+import rgonzalez.smbc.integration.metrics.PipelineStage;
+import rgonzalez.smbc.integration.model.SsnVerificationResult;
+import rgonzalez.smbc.integration.model.SsnVerificationResultSummary;
+import rgonzalez.smbc.integration.repository.SsnVerificationResultRepository;
+import rgonzalez.smbc.integration.service.ContactVerificationService;
+import rgonzalez.smbc.integration.service.SsnVerificationService;
+import rgonzalez.smbc.integration.service.VerificationSource;
+import rgonzalez.smbc.integration.tracing.CorrelationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Implementation of the contact verification flow shared by the Kafka event
+ * handler and the verification retry worker.
+ * The correlation id bound to the calling thread is carried through the
+ * asynchronous verification and sent as the correlationId header of the
+ * customer-ssn-verified record.
+ */
+@Service
+public class ContactVerificationServiceImpl implements ContactVerificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContactVerificationServiceImpl.class);
+
+    private final SsnVerificationService ssnVerificationService;
+    private final SsnVerificationResultRepository ssnVerificationResultRepository;
+    private final KafkaTemplate<String, SsnVerificationResult> ssnVerificationKafkaTemplate;
+    private final KafkaTemplate<String, SsnVerificationResultSummary> latestSsnVerificationKafkaTemplate;
+    private final PipelineMetrics pipelineMetrics;
+
+    public ContactVerificationServiceImpl(SsnVerificationService ssnVerificationService,
+            SsnVerificationResultRepository ssnVerificationResultRepository,
+            KafkaTemplate<String, SsnVerificationResult> ssnVerificationKafkaTemplate,
+            KafkaTemplate<String, SsnVerificationResultSummary> latestSsnVerificationKafkaTemplate,
+            PipelineMetrics pipelineMetrics) {
+        this.ssnVerificationService = ssnVerificationService;
+        this.ssnVerificationResultRepository = ssnVerificationResultRepository;
+        this.ssnVerificationKafkaTemplate = ssnVerificationKafkaTemplate;
+        this.latestSsnVerificationKafkaTemplate = latestSsnVerificationKafkaTemplate;
+        this.pipelineMetrics = pipelineMetrics;
+    }
+
+    @Override
+    public CompletableFuture<SsnVerificationResult> verifyContact(String contactId, String ssn, String firstName,
+            String lastName, VerificationSource source) {
+        String correlationId = CorrelationContext.current();
+        long submitted = System.nanoTime();
+        return ssnVerificationService.verifySSNMatch(ssn, firstName, lastName, source).thenApply(result -> {
+            pipelineMetrics.recordSince(PipelineStage.VERIFICATION_WAIT, submitted, correlationId);
+            if (ERROR_STATUS.equals(result.status())) {
+                throw new IllegalStateException(result.message());
+            }
+            logger.info("SSN verification completed for contact [{}]: Status={}, Matching={}",
+                    contactId, result.status(), result.isMatching());
+
+            // Persist verification result to database
+            SsnVerificationResult verificationResult = new SsnVerificationResult(
+                    contactId,
+                    result.ssn(),
+                    firstName,
+                    lastName,
+                    result.status(),
+                    result.isMatching(),
+                    result.message(),
+                    source.label(),
+                    result.verificationTimestamp());
+
+            long saveStart = System.nanoTime();
+            SsnVerificationResult persistedResult = ssnVerificationResultRepository.save(verificationResult);
+            pipelineMetrics.recordSince(PipelineStage.RESULT_SAVE, saveStart, correlationId);
+            logger.info("SSN verification result persisted to database with id [{}]", persistedResult.getId());
+
+            publish(contactId, persistedResult, correlationId);
+            return persistedResult;
+        });
+    }
+
+    /**
+     * Send the verification outcome to the customer-ssn-verified topic, and its
+     * summary to the compacted customer-ssn-verified-latest topic.
+     */
+    private void publish(String contactId, SsnVerificationResult persistedResult, String correlationId) {
+        ProducerRecord<String, SsnVerificationResult> outcome = new ProducerRecord<>(
+                KafkaConfig.CUSTOMER_SSN_VERIFIED_TOPIC,
+                contactId,
+                persistedResult);
+        if (correlationId != null) {
+            outcome.headers().add(CorrelationContext.HEADER, correlationId.getBytes(StandardCharsets.UTF_8));
+        }
+
+        long sent = System.nanoTime();
+        logSend(KafkaConfig.CUSTOMER_SSN_VERIFIED_TOPIC, contactId, PipelineStage.RESULT_SEND, sent, correlationId,
+                ssnVerificationKafkaTemplate.send(outcome));
+        logSend(KafkaConfig.CUSTOMER_SSN_VERIFIED_LATEST_TOPIC, contactId, PipelineStage.LATEST_SEND, sent,
+                correlationId,
+                latestSsnVerificationKafkaTemplate.send(
+                        KafkaConfig.CUSTOMER_SSN_VERIFIED_LATEST_TOPIC,
+                        contactId,
+                        SsnVerificationResultSummary.of(persistedResult)));
+    }
+
+    private void logSend(String topic, String contactId, PipelineStage stage, long sent, String correlationId,
+            CompletableFuture<?> send) {
+        send.whenComplete((sendResult, exception) -> {
+            if (exception == null) {
+                pipelineMetrics.recordSince(stage, sent, correlationId);
+                logger.info("SSN verification outcome sent to Kafka topic [{}] for contact [{}]", topic, contactId);
+            } else {
+                logger.error("Error sending SSN verification outcome to Kafka topic [{}] for contact [{}]",
+                        topic, contactId, exception);
+            }
+        });
+    }
+}
@@ -0,0 +1,38 @@
+package rgonzalez.smbc.integration.service.impl;
+
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
+import org.springframework.kafka.streams.KafkaStreamsInteractiveQueryService;
+import org.springframework.stereotype.Service;
+import rgonzalez.smbc.integration.config.LatestVerificationStoreConfig;
+import rgonzalez.smbc.integration.model.SsnVerificationResultSummary;
+import rgonzalez.smbc.integration.service.LatestSsnVerificationService;
+
+import java.util.Optional;
+
+/**
+ * Implementation of the latest verification lookup backed by the global
+ * RocksDB store of {@link LatestVerificationStoreConfig}.
+ */
+@Service
+public class LatestSsnVerificationServiceImpl implements LatestSsnVerificationService {
+
+    private final KafkaStreamsInteractiveQueryService interactiveQueryService;
+
+    public LatestSsnVerificationServiceImpl(KafkaStreamsInteractiveQueryService interactiveQueryService) {
+        this.interactiveQueryService = interactiveQueryService;
+    }
+
+    @Override
+    public Optional<SsnVerificationResultSummary> findLatest(String contactId) {
+        ReadOnlyKeyValueStore<String, SsnVerificationResultSummary> store;
+        try {
+            store = interactiveQueryService.retrieveQueryableStore(
+                    LatestVerificationStoreConfig.LATEST_VERIFICATIONS_STORE, QueryableStoreTypes.keyValueStore());
+        } catch (IllegalArgumentException e) {
+            // Kafka Streams has not been started yet
+            throw new IllegalStateException("Latest verification store is not available", e);
+        }
+        return Optional.ofNullable(store.get(contactId));
+    }
+}
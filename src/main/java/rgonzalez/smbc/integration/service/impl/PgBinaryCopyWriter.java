@@ -0,0 +1,86 @@
+package rgonzalez.smbc.integration.service.impl;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Writes tuples in the PostgreSQL binary COPY format.
+ * Callers write one tuple at a time with {@link #startRow(int)} followed by
+ * exactly that many field values, in table column order.
+ */
+final class PgBinaryCopyWriter implements Closeable {
+
+    private static final byte[] SIGNATURE = { 'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0 };
+
+    // PostgreSQL timestamps are microseconds since 2000-01-01 00:00:00
+    private static final LocalDateTime POSTGRES_EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    private final DataOutputStream out;
+
+    PgBinaryCopyWriter(OutputStream target) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(target, 64 * 1024));
+        out.write(SIGNATURE);
+        out.writeInt(0); // flags
+        out.writeInt(0); // header extension length
+    }
+
+    void startRow(int fieldCount) throws IOException {
+        out.writeShort(fieldCount);
+    }
+
+    void writeNull() throws IOException {
+        out.writeInt(-1);
+    }
+
+    void writeLong(Long value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        out.writeInt(8);
+        out.writeLong(value);
+    }
+
+    void writeBoolean(boolean value) throws IOException {
+        out.writeInt(1);
+        out.writeByte(value ? 1 : 0);
+    }
+
+    void writeText(String value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    void writeBytes(byte[] value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    void writeTimestamp(LocalDateTime value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        out.writeInt(8);
+        out.writeLong(ChronoUnit.MICROS.between(POSTGRES_EPOCH, value));
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.writeShort(-1); // file trailer
+        out.close();
+    }
+}
@@ -0,0 +1,105 @@
+package rgonzalez.smbc.integration.service.impl;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import rgonzalez.smbc.integration.model.KeysetPage;
+import rgonzalez.smbc.integration.model.SsnVerificationResultSummary;
+import rgonzalez.smbc.integration.repository.SsnVerificationResultRepository;
+import rgonzalez.smbc.integration.service.SsnVerificationResultQueryService;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Implementation of the verification result query service.
+ * The cursor encodes the (createdTimestamp, id) of the last row returned, and
+ * each query fetches one extra row to know whether another page exists.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SsnVerificationResultQueryServiceImpl implements SsnVerificationResultQueryService {
+
+    public static final int MAX_LIMIT = 500;
+
+    // Upper bound for the first page; PostgreSQL cannot store LocalDateTime.MAX
+    private static final LocalDateTime FIRST_PAGE_TIMESTAMP = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final SsnVerificationResultRepository ssnVerificationResultRepository;
+
+    public SsnVerificationResultQueryServiceImpl(SsnVerificationResultRepository ssnVerificationResultRepository) {
+        this.ssnVerificationResultRepository = ssnVerificationResultRepository;
+    }
+
+    @Override
+    public KeysetPage<SsnVerificationResultSummary> findByContactId(String contactId, String cursor, int limit) {
+        Cursor position = Cursor.decode(cursor);
+        return page(ssnVerificationResultRepository.findSummariesByContactId(contactId,
+                position.createdTimestamp(), position.id(), fetchLimit(limit)), limit);
+    }
+
+    @Override
+    public KeysetPage<SsnVerificationResultSummary> findBySsn(String ssn, String cursor, int limit) {
+        Cursor position = Cursor.decode(cursor);
+        return page(ssnVerificationResultRepository.findSummariesBySsn(ssn,
+                position.createdTimestamp(), position.id(), fetchLimit(limit)), limit);
+    }
+
+    @Override
+    public KeysetPage<SsnVerificationResultSummary> findByStatus(String status, String cursor, int limit) {
+        Cursor position = Cursor.decode(cursor);
+        return page(ssnVerificationResultRepository.findSummariesByStatus(status,
+                position.createdTimestamp(), position.id(), fetchLimit(limit)), limit);
+    }
+
+    @Override
+    public KeysetPage<SsnVerificationResultSummary> findByMatching(boolean isMatching, String cursor, int limit) {
+        Cursor position = Cursor.decode(cursor);
+        return page(ssnVerificationResultRepository.findSummariesByMatching(isMatching,
+                position.createdTimestamp(), position.id(), fetchLimit(limit)), limit);
+    }
+
+    private static Limit fetchLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return Limit.of(limit + 1);
+    }
+
+    private static KeysetPage<SsnVerificationResultSummary> page(List<SsnVerificationResultSummary> rows, int limit) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<SsnVerificationResultSummary> items = rows.subList(0, limit);
+        SsnVerificationResultSummary last = items.get(limit - 1);
+        return new KeysetPage<>(List.copyOf(items), new Cursor(last.createdTimestamp(), last.id()).encode());
+    }
+
+    /**
+     * Position of the last row of a page.
+     */
+    private record Cursor(LocalDateTime createdTimestamp, long id) {
+
+        static Cursor decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return new Cursor(FIRST_PAGE_TIMESTAMP, Long.MAX_VALUE);
+            }
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = decoded.lastIndexOf('|');
+                return new Cursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                        Long.parseLong(decoded.substring(separator + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+            }
+        }
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((createdTimestamp + "|" + id).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
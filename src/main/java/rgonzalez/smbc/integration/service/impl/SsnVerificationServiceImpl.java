@@ -2,86 +2,79 @@ package rgonzalez.smbc.integration.service.impl;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import rgonzalez.smbc.integration.metrics.PipelineMetrics;
+import rgonzalez.smbc.integration.metrics.PipelineStage;
+import rgonzalez.smbc.integration.ratelimit.ProviderRateLimiter;
+import rgonzalez.smbc.integration.service.SsnFormat;
 import rgonzalez.smbc.integration.service.SsnVerificationService;
+import rgonzalez.smbc.integration.service.VerificationSource;
 
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
-import java.util.regex.Pattern;
 
 /**
  * Implementation of SSN verification service.
  * Provides async verification of social security numbers matching with names.
+ * Requests are validated on the calling thread; provider calls go through the
+ * {@link ProviderRateLimiter} and run on the ssnVerificationExecutor.
  */
 @Service
 public class SsnVerificationServiceImpl implements SsnVerificationService {
 
     private static final Logger logger = LoggerFactory.getLogger(SsnVerificationServiceImpl.class);
-    private static final Pattern SSN_PATTERN = Pattern.compile("^\\d{3}-\\d{2}-\\d{4}$");
+
+    private final ProviderRateLimiter providerRateLimiter;
+    private final PipelineMetrics pipelineMetrics;
+    private final Duration simulatedLatency;
+
+    public SsnVerificationServiceImpl(ProviderRateLimiter providerRateLimiter,
+            PipelineMetrics pipelineMetrics,
+            @Value("${integration.ssn-provider.simulated-latency:5s}") Duration simulatedLatency) {
+        this.providerRateLimiter = providerRateLimiter;
+        this.pipelineMetrics = pipelineMetrics;
+        this.simulatedLatency = simulatedLatency;
+    }
 
     /**
      * Asynchronously verify if a social security number matches the provided first
      * and last names.
      */
     @Override
-    @Async
     public CompletableFuture<SsnVerificationResult> verifySSNMatch(String ssn, String firstName, String lastName) {
-        return CompletableFuture.supplyAsync(() -> {
-            logger.debug("Starting SSN verification: SSN={}, FirstName={}, LastName={}", ssn, firstName, lastName);
-
-            try {
-                // Validate SSN format
-                if (!isValidSSNFormat(ssn)) {
-                    logger.warn("Invalid SSN format: {}", ssn);
-                    return new SsnVerificationResult(
-                            ssn,
-                            firstName + " " + lastName,
-                            false,
-                            "INVALID_FORMAT",
-                            "SSN format is invalid. Expected format: XXX-XX-XXXX",
-                            System.currentTimeMillis());
-                }
-
-                // Validate names
-                if (firstName == null || firstName.trim().isEmpty() || lastName == null || lastName.trim().isEmpty()) {
-                    logger.warn("Invalid names provided: FirstName={}, LastName={}", firstName, lastName);
-                    return new SsnVerificationResult(
-                            ssn,
-                            firstName + " " + lastName,
-                            false,
-                            "INVALID_NAME",
-                            "First name and last name must not be empty",
-                            System.currentTimeMillis());
-                }
-
-                // Perform verification logic
-                boolean isMatching = performVerification(ssn, firstName, lastName);
-
-                String status = isMatching ? "VERIFIED" : "NOT_MATCHING";
-                String message = isMatching ? "SSN matches the provided name" : "SSN does not match the provided name";
-
-                logger.info("SSN verification completed: SSN={}, Status={}, Matching={}", ssn, status, isMatching);
-
-                return new SsnVerificationResult(
-                        ssn,
-                        firstName + " " + lastName,
-                        isMatching,
-                        status,
-                        message,
-                        System.currentTimeMillis());
-
-            } catch (Exception e) {
-                logger.error("Error during SSN verification: SSN={}, FirstName={}, LastName={}", ssn, firstName,
-                        lastName, e);
-                return new SsnVerificationResult(
-                        ssn,
-                        firstName + " " + lastName,
-                        false,
-                        "ERROR",
-                        "An error occurred during verification: " + e.getMessage(),
-                        System.currentTimeMillis());
-            }
-        });
+        return verifySSNMatch(ssn, firstName, lastName, VerificationSource.REST);
+    }
+
+    /**
+     * Asynchronously verify if a social security number matches the provided first
+     * and last names, scheduling the provider call fairly for its source.
+     */
+    @Override
+    public CompletableFuture<SsnVerificationResult> verifySSNMatch(String ssn, String firstName, String lastName,
+            VerificationSource source) {
+        logger.debug("Starting SSN verification: SSN={}, FirstName={}, LastName={}", ssn, firstName, lastName);
+        String name = firstName + " " + lastName;
+
+        // Validate SSN format
+        if (!isValidSSNFormat(ssn)) {
+            logger.warn("Invalid SSN format: {}", ssn);
+            return CompletableFuture.completedFuture(invalidFormat(ssn, name));
+        }
+
+        // Validate names
+        if (firstName == null || firstName.trim().isEmpty() || lastName == null || lastName.trim().isEmpty()) {
+            logger.warn("Invalid names provided: FirstName={}, LastName={}", firstName, lastName);
+            return CompletableFuture.completedFuture(new SsnVerificationResult(
+                    ssn,
+                    name,
+                    false,
+                    "INVALID_NAME",
+                    "First name and last name must not be empty",
+                    System.currentTimeMillis()));
+        }
+
+        return submit(source, ssn, firstName, lastName, name);
     }
 
     /**
@@ -89,68 +82,86 @@ public class SsnVerificationServiceImpl implements SsnVerificationService {
      * name.
      */
     @Override
-    @Async
     public CompletableFuture<SsnVerificationResult> verifySSNMatch(String ssn, String fullName) {
-        return CompletableFuture.supplyAsync(() -> {
-            logger.debug("Starting SSN verification: SSN={}, FullName={}", ssn, fullName);
-
-            try {
-                // Validate SSN format
-                if (!isValidSSNFormat(ssn)) {
-                    logger.warn("Invalid SSN format: {}", ssn);
-                    return new SsnVerificationResult(
-                            ssn,
-                            fullName,
-                            false,
-                            "INVALID_FORMAT",
-                            "SSN format is invalid. Expected format: XXX-XX-XXXX",
-                            System.currentTimeMillis());
-                }
-
-                // Validate name
-                if (fullName == null || fullName.trim().isEmpty()) {
-                    logger.warn("Invalid full name provided: {}", fullName);
-                    return new SsnVerificationResult(
-                            ssn,
-                            fullName,
-                            false,
-                            "INVALID_NAME",
-                            "Full name must not be empty",
-                            System.currentTimeMillis());
-                }
-
-                // Parse full name into first and last name
-                String[] nameParts = fullName.trim().split("\\s+", 2);
-                String firstName = nameParts.length > 0 ? nameParts[0] : "";
-                String lastName = nameParts.length > 1 ? nameParts[1] : "";
-
-                // Perform verification logic
-                boolean isMatching = performVerification(ssn, firstName, lastName);
-
-                String status = isMatching ? "VERIFIED" : "NOT_MATCHING";
-                String message = isMatching ? "SSN matches the provided name" : "SSN does not match the provided name";
-
-                logger.info("SSN verification completed: SSN={}, Status={}, Matching={}", ssn, status, isMatching);
-
-                return new SsnVerificationResult(
-                        ssn,
-                        fullName,
-                        isMatching,
-                        status,
-                        message,
-                        System.currentTimeMillis());
-
-            } catch (Exception e) {
-                logger.error("Error during SSN verification: SSN={}, FullName={}", ssn, fullName, e);
-                return new SsnVerificationResult(
-                        ssn,
-                        fullName,
-                        false,
-                        "ERROR",
-                        "An error occurred during verification: " + e.getMessage(),
-                        System.currentTimeMillis());
-            }
-        });
+        logger.debug("Starting SSN verification: SSN={}, FullName={}", ssn, fullName);
+
+        // Validate SSN format
+        if (!isValidSSNFormat(ssn)) {
+            logger.warn("Invalid SSN format: {}", ssn);
+            return CompletableFuture.completedFuture(invalidFormat(ssn, fullName));
+        }
+
+        // Validate name
+        if (fullName == null || fullName.trim().isEmpty()) {
+            logger.warn("Invalid full name provided: {}", fullName);
+            return CompletableFuture.completedFuture(new SsnVerificationResult(
+                    ssn,
+                    fullName,
+                    false,
+                    "INVALID_NAME",
+                    "Full name must not be empty",
+                    System.currentTimeMillis()));
+        }
+
+        // Parse full name into first and last name
+        String[] nameParts = fullName.trim().split("\\s+", 2);
+        String firstName = nameParts.length > 0 ? nameParts[0] : "";
+        String lastName = nameParts.length > 1 ? nameParts[1] : "";
+
+        return submit(VerificationSource.REST, ssn, firstName, lastName, fullName);
+    }
+
+    private CompletableFuture<SsnVerificationResult> submit(VerificationSource source, String ssn,
+            String firstName, String lastName, String name) {
+        CompletableFuture<SsnVerificationResult> verification = providerRateLimiter.submit(source,
+                () -> verify(ssn, firstName, lastName, name));
+        pipelineMetrics.trackInFlight(source, verification);
+        return verification;
+    }
+
+    /**
+     * Call the provider and build the result; runs on the ssnVerificationExecutor.
+     */
+    private SsnVerificationResult verify(String ssn, String firstName, String lastName, String name) {
+        try {
+            // Perform verification logic
+            long providerStart = System.nanoTime();
+            boolean isMatching = performVerification(ssn, firstName, lastName);
+            pipelineMetrics.recordSince(PipelineStage.PROVIDER_CALL, providerStart);
+
+            String status = isMatching ? "VERIFIED" : "NOT_MATCHING";
+            String message = isMatching ? "SSN matches the provided name" : "SSN does not match the provided name";
+
+            logger.info("SSN verification completed: SSN={}, Status={}, Matching={}", ssn, status, isMatching);
+
+            return new SsnVerificationResult(
+                    ssn,
+                    name,
+                    isMatching,
+                    status,
+                    message,
+                    System.currentTimeMillis());
+
+        } catch (Exception e) {
+            logger.error("Error during SSN verification: SSN={}, Name={}", ssn, name, e);
+            return new SsnVerificationResult(
+                    ssn,
+                    name,
+                    false,
+                    "ERROR",
+                    "An error occurred during verification: " + e.getMessage(),
+                    System.currentTimeMillis());
+        }
+    }
+
+    private static SsnVerificationResult invalidFormat(String ssn, String name) {
+        return new SsnVerificationResult(
+                ssn,
+                name,
+                false,
+                "INVALID_FORMAT",
+                "SSN format is invalid. Expected format: XXX-XX-XXXX",
+                System.currentTimeMillis());
     }
 
     /**
@@ -160,10 +171,7 @@ public class SsnVerificationServiceImpl implements SsnVerificationService {
      * @return true if SSN format is valid, false otherwise
      */
     private boolean isValidSSNFormat(String ssn) {
-        if (ssn == null) {
-            return false;
-        }
-        return SSN_PATTERN.matcher(ssn).matches();
+        return SsnFormat.isValid(ssn);
     }
 
     /**
@@ -188,7 +196,7 @@ public class SsnVerificationServiceImpl implements SsnVerificationService {
 
         try {
             // Simulate processing delay (e.g., external service call)
-            Thread.sleep(5000);
+            Thread.sleep(simulatedLatency);
         } catch (InterruptedException e) {
             logger.warn("SSN verification was interrupted", e);
             Thread.currentThread().interrupt();
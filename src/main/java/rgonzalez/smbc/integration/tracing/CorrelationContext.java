@@ -0,0 +1,110 @@
+package rgonzalez.smbc.integration.tracing;
+
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Correlation id of the contact journey being processed, held in the logging
+ * MDC under {@value #MDC_KEY}.
+ * The MDC is thread-bound, so work handed to another thread must be wrapped
+ * with {@link #wrap(Runnable)} or {@link #wrap(Supplier)} at the point it is
+ * submitted; the executors do this through {@link MdcTaskDecorator}.
+ */
+public final class CorrelationContext {
+
+    /**
+     * MDC key of the correlation id.
+     */
+    public static final String MDC_KEY = "correlationId";
+
+    /**
+     * Kafka header carrying the correlation id.
+     */
+    public static final String HEADER = "correlationId";
+
+    private CorrelationContext() {
+    }
+
+    /**
+     * @return the correlation id of the current thread, or null
+     */
+    public static String current() {
+        return MDC.get(MDC_KEY);
+    }
+
+    /**
+     * Bind a correlation id to the current thread until the returned scope is
+     * closed. A new id is generated if none is given.
+     *
+     * @param correlationId the correlation id, may be null
+     * @return scope restoring the previous correlation id on close
+     */
+    public static Scope open(String correlationId) {
+        String previous = MDC.get(MDC_KEY);
+        MDC.put(MDC_KEY, correlationId == null || correlationId.isBlank()
+                ? UUID.randomUUID().toString()
+                : correlationId);
+        return () -> restore(MDC_KEY, previous);
+    }
+
+    /**
+     * Capture the MDC of the calling thread and restore it around the task.
+     */
+    public static Runnable wrap(Runnable task) {
+        Map<String, String> captured = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            setContextMap(captured);
+            try {
+                task.run();
+            } finally {
+                setContextMap(previous);
+            }
+        };
+    }
+
+    /**
+     * Capture the MDC of the calling thread and restore it around the supplier.
+     */
+    public static <T> Supplier<T> wrap(Supplier<T> supplier) {
+        Map<String, String> captured = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            setContextMap(captured);
+            try {
+                return supplier.get();
+            } finally {
+                setContextMap(previous);
+            }
+        };
+    }
+
+    private static void setContextMap(Map<String, String> contextMap) {
+        if (contextMap == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(contextMap);
+        }
+    }
+
+    private static void restore(String key, String previous) {
+        if (previous == null) {
+            MDC.remove(key);
+        } else {
+            MDC.put(key, previous);
+        }
+    }
+
+    /**
+     * Binding of a correlation id to the current thread.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,15 @@
+package rgonzalez.smbc.integration.tracing;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Runs tasks with the MDC, and so the correlation id, of the thread that
+ * submitted them.
+ */
+public class MdcTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return CorrelationContext.wrap(runnable);
+    }
+}
@@ -0,0 +1,54 @@
+package rgonzalez.smbc.integration.tracing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import rgonzalez.smbc.integration.metrics.PipelineStage;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emits a span log line per pipeline stage for a sample of contact journeys.
+ * Sampling is decided from the correlation id, so either every stage of a
+ * journey is logged, on every instance, or none is. Journeys that are not
+ * sampled cost a hash and a comparison per stage.
+ */
+@Component
+public class PipelineTracer {
+
+    private static final Logger logger = LoggerFactory.getLogger(PipelineTracer.class);
+
+    private static final int SAMPLE_BUCKETS = 10_000;
+
+    private final int sampledBuckets;
+
+    public PipelineTracer(@Value("${integration.tracing.sample-rate:0.01}") double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("integration.tracing.sample-rate must be between 0 and 1");
+        }
+        this.sampledBuckets = (int) Math.round(sampleRate * SAMPLE_BUCKETS);
+    }
+
+    /**
+     * @return true if the journey with the correlation id is traced
+     */
+    public boolean isSampled(String correlationId) {
+        return correlationId != null
+                && Math.floorMod(correlationId.hashCode(), SAMPLE_BUCKETS) < sampledBuckets;
+    }
+
+    /**
+     * Emit the span of a stage if the journey is sampled.
+     *
+     * @param stage         the pipeline stage
+     * @param correlationId correlation id of the journey, may be null
+     * @param durationNanos how long the stage took
+     */
+    public void span(PipelineStage stage, String correlationId, long durationNanos) {
+        if (isSampled(correlationId) && logger.isInfoEnabled()) {
+            logger.info("span correlationId={} stage={} thread={} durationMicros={}", correlationId, stage.tag(),
+                    Thread.currentThread().getName(), TimeUnit.NANOSECONDS.toMicros(durationNanos));
+        }
+    }
+}
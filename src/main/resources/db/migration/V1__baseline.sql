@@ -0,0 +1,35 @@
+-- Baseline schema as created by the original entity mappings
+CREATE SCHEMA IF NOT EXISTS integration;
+
+CREATE TABLE IF NOT EXISTS integration.business_events (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_id          VARCHAR(100) NOT NULL,
+    aggregate_id      VARCHAR(100) NOT NULL,
+    aggregate_name    VARCHAR(100) NOT NULL,
+    event_name        VARCHAR(100) NOT NULL,
+    event_payload     TEXT         NOT NULL,
+    schema            VARCHAR(500) NOT NULL,
+    correlation_id    VARCHAR(100),
+    event_direction   VARCHAR(20)  NOT NULL,
+    created_by        VARCHAR(100) NOT NULL,
+    created_timestamp TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_by        VARCHAR(100) NOT NULL,
+    updated_timestamp TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS integration.ssn_verification_results (
+    id                     BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    contact_id             VARCHAR(100) NOT NULL,
+    ssn                    VARCHAR(11)  NOT NULL,
+    first_name             VARCHAR(100) NOT NULL,
+    last_name              VARCHAR(100) NOT NULL,
+    status                 VARCHAR(20),
+    is_matching            BOOLEAN,
+    message                TEXT,
+    verification_source    VARCHAR(50),
+    verification_timestamp BIGINT,
+    created_by             VARCHAR(100),
+    created_timestamp      TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_by             VARCHAR(100),
+    updated_timestamp      TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,14 @@
+-- Switch both tables from IDENTITY columns to sequences so Hibernate can
+-- allocate ids in blocks (pooled-lo, allocationSize = 50) and batch inserts.
+-- INCREMENT BY must match the allocationSize of the @SequenceGenerator.
+CREATE SEQUENCE IF NOT EXISTS integration.business_events_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS integration.ssn_verification_results_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE integration.business_events ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE integration.ssn_verification_results ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+-- pooled-lo hands out [value, value + 49], so continue right after the current max id
+SELECT setval('integration.business_events_seq',
+        COALESCE((SELECT MAX(id) FROM integration.business_events), 0) + 1, false);
+SELECT setval('integration.ssn_verification_results_seq',
+        COALESCE((SELECT MAX(id) FROM integration.ssn_verification_results), 0) + 1, false);
@@ -0,0 +1,10 @@
+-- Composite indexes backing the keyset-paginated result queries:
+-- equality on the filter column, then (created_timestamp, id) for ordering and the cursor
+CREATE INDEX IF NOT EXISTS idx_ssn_verification_results_contact_created
+    ON integration.ssn_verification_results (contact_id, created_timestamp, id);
+CREATE INDEX IF NOT EXISTS idx_ssn_verification_results_ssn_created
+    ON integration.ssn_verification_results (ssn, created_timestamp, id);
+CREATE INDEX IF NOT EXISTS idx_ssn_verification_results_status_created
+    ON integration.ssn_verification_results (status, created_timestamp, id);
+CREATE INDEX IF NOT EXISTS idx_ssn_verification_results_matching_created
+    ON integration.ssn_verification_results (is_matching, created_timestamp, id);
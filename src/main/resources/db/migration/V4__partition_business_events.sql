@@ -0,0 +1,48 @@
+-- Convert business_events into a table range-partitioned by month on
+-- created_timestamp. Future partitions are pre-created and old ones detached
+-- and archived by BusinessEventPartitionMaintenance.
+-- The primary key must include the partition key.
+ALTER TABLE integration.business_events RENAME TO business_events_unpartitioned;
+ALTER TABLE integration.business_events_unpartitioned RENAME CONSTRAINT business_events_pkey TO business_events_unpartitioned_pkey;
+
+CREATE TABLE integration.business_events (
+    id                BIGINT       NOT NULL,
+    event_id          VARCHAR(100) NOT NULL,
+    aggregate_id      VARCHAR(100) NOT NULL,
+    aggregate_name    VARCHAR(100) NOT NULL,
+    event_name        VARCHAR(100) NOT NULL,
+    event_payload     TEXT         NOT NULL,
+    schema            VARCHAR(500) NOT NULL,
+    correlation_id    VARCHAR(100),
+    event_direction   VARCHAR(20)  NOT NULL,
+    created_by        VARCHAR(100) NOT NULL,
+    created_timestamp TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_by        VARCHAR(100) NOT NULL,
+    updated_timestamp TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_timestamp)
+) PARTITION BY RANGE (created_timestamp);
+
+-- Monthly partitions from the oldest existing row through three months ahead
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', COALESCE(
+            (SELECT MIN(created_timestamp) FROM integration.business_events_unpartitioned),
+            CURRENT_TIMESTAMP))::date;
+    last_month DATE := (date_trunc('month', CURRENT_TIMESTAMP) + INTERVAL '3 months')::date;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format(
+                'CREATE TABLE IF NOT EXISTS integration.%I PARTITION OF integration.business_events FOR VALUES FROM (%L) TO (%L)',
+                'business_events_p' || to_char(month_start, 'YYYYMM'),
+                month_start,
+                (month_start + INTERVAL '1 month')::date);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO integration.business_events
+SELECT id, event_id, aggregate_id, aggregate_name, event_name, event_payload, schema, correlation_id,
+       event_direction, created_by, created_timestamp, updated_by, updated_timestamp
+FROM integration.business_events_unpartitioned;
+
+DROP TABLE integration.business_events_unpartitioned;
@@ -0,0 +1,4 @@
+-- Store event payloads as BYTEA encoded by EventPayloadCodec. Existing rows
+-- get the PLAIN format marker (0x00); new rows are DEFLATE compressed by default.
+ALTER TABLE integration.business_events
+    ALTER COLUMN event_payload TYPE BYTEA USING ('\x00'::bytea || convert_to(event_payload, 'UTF8'));
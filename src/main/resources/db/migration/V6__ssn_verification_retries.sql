@@ -0,0 +1,23 @@
+-- Durable retry queue for failed contact SSN verifications.
+-- Workers on every node claim due rows with FOR UPDATE SKIP LOCKED and lease
+-- them by moving next_attempt_at forward.
+CREATE SEQUENCE IF NOT EXISTS integration.ssn_verification_retries_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS integration.ssn_verification_retries (
+    id                  BIGINT       PRIMARY KEY,
+    contact_id          VARCHAR(100) NOT NULL,
+    ssn                 VARCHAR(100),
+    first_name          VARCHAR(100),
+    last_name           VARCHAR(100),
+    verification_source VARCHAR(50),
+    status              VARCHAR(20)  NOT NULL CHECK (status IN ('PENDING', 'DEAD')),
+    attempts            INTEGER      NOT NULL,
+    next_attempt_at     TIMESTAMP    NOT NULL,
+    last_error          TEXT,
+    created_timestamp   TIMESTAMP    NOT NULL
+);
+
+-- Only pending rows are ever polled
+CREATE INDEX IF NOT EXISTS idx_ssn_verification_retries_due
+    ON integration.ssn_verification_retries (next_attempt_at)
+    WHERE status = 'PENDING';
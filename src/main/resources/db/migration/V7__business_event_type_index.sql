@@ -0,0 +1,8 @@
+-- Backs the verification reconciliation anti-join: ContactCreated events
+-- within a created_timestamp window. Created on every partition.
+CREATE INDEX IF NOT EXISTS idx_business_events_type_created
+    ON integration.business_events (aggregate_name, event_name, created_timestamp);
+
+-- Lets the anti-join skip contacts already waiting in the retry queue
+CREATE INDEX IF NOT EXISTS idx_ssn_verification_retries_contact
+    ON integration.ssn_verification_retries (contact_id);
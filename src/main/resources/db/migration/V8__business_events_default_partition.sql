@@ -0,0 +1,6 @@
+-- Catch-all partition for business events whose month has no partition yet,
+-- e.g. when the partition maintenance did not run or a producer clock is far
+-- off, so such inserts are stored instead of failing. The partition
+-- maintenance moves its rows into monthly partitions.
+CREATE TABLE IF NOT EXISTS integration.business_events_default
+    PARTITION OF integration.business_events DEFAULT;
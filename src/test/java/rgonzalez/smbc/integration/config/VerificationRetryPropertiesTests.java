@@ -0,0 +1,30 @@
+package rgonzalez.smbc.integration.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class VerificationRetryPropertiesTests {
+
+	@Test
+	void backoffDoublesPerAttempt() {
+		VerificationRetryProperties properties = new VerificationRetryProperties();
+		properties.setInitialBackoff(Duration.ofSeconds(30));
+
+		assertThat(properties.backoffAfter(0)).isEqualTo(Duration.ofSeconds(30));
+		assertThat(properties.backoffAfter(1)).isEqualTo(Duration.ofSeconds(60));
+		assertThat(properties.backoffAfter(3)).isEqualTo(Duration.ofSeconds(240));
+	}
+
+	@Test
+	void backoffIsCappedAtMaxBackoff() {
+		VerificationRetryProperties properties = new VerificationRetryProperties();
+		properties.setInitialBackoff(Duration.ofSeconds(30));
+		properties.setMaxBackoff(Duration.ofMinutes(10));
+
+		assertThat(properties.backoffAfter(5)).isEqualTo(Duration.ofMinutes(10));
+		assertThat(properties.backoffAfter(1_000)).isEqualTo(Duration.ofMinutes(10));
+	}
+}
@@ -0,0 +1,124 @@
+package rgonzalez.smbc.integration.executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import rgonzalez.smbc.integration.config.ExecutorProperties;
+import rgonzalez.smbc.integration.executor.ResizableTaskExecutor.Saturation;
+
+class ResizableTaskExecutorTests {
+
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	private ResizableTaskExecutor executor;
+
+	@AfterEach
+	void shutdown() {
+		release.countDown();
+		executor.shutdown();
+	}
+
+	@Test
+	void abortRejectsOnceThreadsAndQueueAreFull() {
+		executor = executor(RejectionPolicy.ABORT);
+		saturate();
+
+		assertThatExceptionOfType(RejectedExecutionException.class).isThrownBy(() -> executor.execute(() -> {
+		}));
+		assertThat(executor.getSaturationCount(Saturation.REJECTED)).isEqualTo(1);
+	}
+
+	@Test
+	void resizedQueueAcceptsMoreTasks() {
+		executor = executor(RejectionPolicy.ABORT);
+		saturate();
+
+		executor.resize(1, 1, 3);
+		executor.execute(this::await);
+		executor.execute(this::await);
+
+		assertThat(executor.getQueueSize()).isEqualTo(3);
+		assertThat(executor.getThreadPoolExecutor().getQueue().remainingCapacity()).isZero();
+		assertThat(executor.getSaturationCount(Saturation.REJECTED)).isZero();
+	}
+
+	@Test
+	void shrunkQueueKeepsQueuedTasks() {
+		executor = executor(RejectionPolicy.ABORT);
+		executor.resize(1, 1, 3);
+		executor.execute(this::await);
+		executor.execute(this::await);
+		executor.execute(this::await);
+		executor.execute(this::await);
+
+		executor.resize(1, 1, 1);
+
+		assertThat(executor.getQueueSize()).isEqualTo(3);
+		assertThatExceptionOfType(RejectedExecutionException.class).isThrownBy(() -> executor.execute(() -> {
+		}));
+	}
+
+	@Test
+	void callerRunsRunsTaskOnSubmittingThread() {
+		executor = executor(RejectionPolicy.CALLER_RUNS);
+		saturate();
+
+		Thread[] ranOn = new Thread[1];
+		executor.execute(() -> ranOn[0] = Thread.currentThread());
+
+		assertThat(ranOn[0]).isSameAs(Thread.currentThread());
+		assertThat(executor.getSaturationCount(Saturation.CALLER_RUNS)).isEqualTo(1);
+	}
+
+	@Test
+	void blockWaitsForQueueSpace() throws Exception {
+		executor = executor(RejectionPolicy.BLOCK);
+		saturate();
+
+		CompletableFuture<Void> submitted = CompletableFuture.runAsync(() -> executor.execute(() -> {
+		}));
+		Thread.sleep(100);
+		assertThat(submitted).isNotDone();
+
+		release.countDown();
+		submitted.get(5, TimeUnit.SECONDS);
+		assertThat(executor.getSaturationCount(Saturation.BLOCKED)).isEqualTo(1);
+	}
+
+	private ResizableTaskExecutor executor(RejectionPolicy rejectionPolicy) {
+		ExecutorProperties.Pool pool = new ExecutorProperties.Pool();
+		pool.setCorePoolSize(1);
+		pool.setMaxPoolSize(1);
+		pool.setQueueCapacity(1);
+		pool.setRejectionPolicy(rejectionPolicy);
+		pool.setBlockTimeout(Duration.ofSeconds(5));
+		ResizableTaskExecutor executor = new ResizableTaskExecutor("test", pool, new SimpleMeterRegistry());
+		executor.initialize();
+		return executor;
+	}
+
+	// One task running and one queued
+	private void saturate() {
+		executor.execute(this::await);
+		executor.execute(this::await);
+	}
+
+	private void await() {
+		try {
+			release.await();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
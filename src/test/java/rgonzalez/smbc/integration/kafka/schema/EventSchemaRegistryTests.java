@@ -0,0 +1,86 @@
+package rgonzalez.smbc.integration.kafka.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import rgonzalez.smbc.integration.model.BusinessEvent;
+import rgonzalez.smbc.integration.model.Contact;
+
+class EventSchemaRegistryTests {
+
+	@Test
+	void readsCurrentSchemaDirectly() throws Exception {
+		EventSchemaRegistry registry = new EventSchemaRegistry(List.of());
+
+		Contact contact = registry.read(event("contact.v2",
+				"{\"ssn\":\"123-45-6789\",\"firstName\":\"Ada\",\"lastName\":\"Lovelace\"}"), Contact.class);
+
+		assertThat(contact.getSsn()).isEqualTo("123-45-6789");
+		assertThat(contact.getFirstName()).isEqualTo("Ada");
+		assertThat(registry.readerFor("contact.v2", Contact.class))
+				.isSameAs(registry.readerFor(null, Contact.class));
+	}
+
+	@Test
+	void upcastsOlderSchemaThroughChain() throws Exception {
+		EventSchemaRegistry registry = new EventSchemaRegistry(List.of(new LegacyContactUpcaster()));
+
+		Contact contact = registry.read(event("contact.v1",
+				"{\"ssn\":\"123-45-6789\",\"fullName\":\"Ada Lovelace\"}"), Contact.class);
+
+		assertThat(contact.getFirstName()).isEqualTo("Ada");
+		assertThat(contact.getLastName()).isEqualTo("Lovelace");
+		assertThat(registry.readerFor("contact.v1", Contact.class))
+				.isSameAs(registry.readerFor("contact.v1", Contact.class));
+	}
+
+	@Test
+	void rejectsDuplicateUpcasters() {
+		assertThatThrownBy(() -> new EventSchemaRegistry(
+				List.of(new LegacyContactUpcaster(), new LegacyContactUpcaster())))
+				.isInstanceOf(IllegalStateException.class);
+	}
+
+	private static BusinessEvent event(String schema, String payload) {
+		return new BusinessEvent("evt-1", "42", "Contact", "ContactCreated", payload, schema, null,
+				BusinessEvent.EventDirection.INBOUND);
+	}
+
+	static class LegacyContact {
+		public String ssn;
+		public String fullName;
+	}
+
+	static class LegacyContactUpcaster implements EventUpcaster<LegacyContact, Contact> {
+
+		@Override
+		public String sourceSchema() {
+			return "contact.v1";
+		}
+
+		@Override
+		public String targetSchema() {
+			return "contact.v2";
+		}
+
+		@Override
+		public Class<LegacyContact> sourceType() {
+			return LegacyContact.class;
+		}
+
+		@Override
+		public Class<Contact> targetType() {
+			return Contact.class;
+		}
+
+		@Override
+		public Contact upcast(LegacyContact source) {
+			String[] names = source.fullName.split(" ", 2);
+			return new Contact(source.fullName, source.ssn, names[0], names[1], null);
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package rgonzalez.smbc.integration.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class EventPayloadCodecTests {
+
+	private static final String PAYLOAD = "{\"id\":42,\"name\":\"Ada Lovelace\",\"ssn\":\"123-45-6789\","
+			+ "\"firstName\":\"Ada\",\"lastName\":\"Lovelace\",\"middleInitial\":null,\"createdBy\":\"contacts-api\","
+			+ "\"createdTimestamp\":\"2026-01-01T00:00:00\",\"updatedBy\":\"contacts-api\","
+			+ "\"updatedTimestamp\":\"2026-01-01T00:00:00\"}";
+
+	@Test
+	void roundTripsBothFormats() {
+		for (EventPayloadCodec.Format format : EventPayloadCodec.Format.values()) {
+			assertThat(EventPayloadCodec.decode(EventPayloadCodec.encode(PAYLOAD, format))).isEqualTo(PAYLOAD);
+		}
+	}
+
+	@Test
+	void deflateWithDictionaryShrinksContactPayloads() {
+		byte[] plain = EventPayloadCodec.encode(PAYLOAD, EventPayloadCodec.Format.PLAIN);
+		byte[] deflated = EventPayloadCodec.encode(PAYLOAD, EventPayloadCodec.Format.DEFLATE);
+
+		assertThat(deflated.length).isLessThan(plain.length / 2);
+	}
+
+	@Test
+	void rejectsUnknownFormat() {
+		assertThatThrownBy(() -> EventPayloadCodec.decode(new byte[] { 9, 1, 2 }))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void storedPayloadEqualsReceivedPayload() {
+		EventPayload payload = EventPayload.ofEncoded(EventPayloadCodec.encode(PAYLOAD, EventPayloadCodec.Format.DEFLATE));
+
+		assertThat(payload.json()).isEqualTo(PAYLOAD);
+		assertThat(payload).isEqualTo(EventPayload.ofJson(PAYLOAD));
+	}
+
+	@Test
+	void decodesLazily() {
+		// Bytes that fail to decode show whether anything tried to
+		byte[] unreadable = { 9, 1, 2 };
+		EventPayload payload = EventPayload.ofEncoded(unreadable);
+
+		assertThat(payload.encoded(EventPayloadCodec.Format.DEFLATE)).isSameAs(unreadable);
+		assertThatThrownBy(payload::json).isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,136 @@
+package rgonzalez.smbc.integration.overflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedOverflowLogTests {
+
+	private static final int SEGMENT_SIZE = 64;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void readsRecordsInOrderAcrossSegments() throws IOException {
+		try (MappedOverflowLog log = new MappedOverflowLog(directory, SEGMENT_SIZE, 1_000_000)) {
+			for (int i = 0; i < 20; i++) {
+				assertThat(log.append(bytes("record-" + i))).isTrue();
+			}
+			assertThat(segmentFiles()).hasSizeGreaterThan(1);
+
+			List<String> read = new ArrayList<>();
+			MappedOverflowLog.Entry entry = null;
+			for (MappedOverflowLog.Entry next; (next = log.poll()) != null;) {
+				read.add(string(next));
+				entry = next;
+			}
+			log.commit(entry.endPosition());
+
+			assertThat(read).hasSize(20).first().isEqualTo("record-0");
+			assertThat(read).last().isEqualTo("record-19");
+			assertThat(log.hasUnread()).isFalse();
+			assertThat(log.pendingBytes()).isZero();
+			assertThat(segmentFiles()).hasSize(1);
+		}
+	}
+
+	@Test
+	void uncommittedRecordsAreReadAgainAfterReopen() throws IOException {
+		try (MappedOverflowLog log = new MappedOverflowLog(directory, SEGMENT_SIZE, 1_000_000)) {
+			for (int i = 0; i < 5; i++) {
+				log.append(bytes("record-" + i));
+			}
+			log.poll();
+			log.commit(log.poll().endPosition());
+			log.poll();
+		}
+
+		try (MappedOverflowLog log = new MappedOverflowLog(directory, SEGMENT_SIZE, 1_000_000)) {
+			log.append(bytes("record-5"));
+
+			assertThat(readAll(log)).containsExactly("record-2", "record-3", "record-4", "record-5");
+		}
+	}
+
+	@Test
+	void tornRecordIsDroppedOnReopen() throws IOException {
+		try (MappedOverflowLog log = new MappedOverflowLog(directory, SEGMENT_SIZE, 1_000_000)) {
+			log.append(bytes("first"));
+			log.append(bytes("second"));
+		}
+		// Corrupt the last payload byte of the second record, as if the crash hit while writing it
+		int secondEnd = 2 * MappedOverflowLog.RECORD_HEADER_BYTES + "first".length() + "second".length();
+		try (RandomAccessFile file = new RandomAccessFile(segmentFiles().get(0).toFile(), "rw")) {
+			file.seek(secondEnd - 1);
+			file.write('X');
+		}
+
+		try (MappedOverflowLog log = new MappedOverflowLog(directory, SEGMENT_SIZE, 1_000_000)) {
+			log.append(bytes("third"));
+
+			assertThat(readAll(log)).containsExactly("first", "third");
+		}
+	}
+
+	@Test
+	void peekDoesNotConsume() throws IOException {
+		try (MappedOverflowLog log = new MappedOverflowLog(directory, SEGMENT_SIZE, 1_000_000)) {
+			assertThat(log.peek()).isNull();
+			log.append(bytes("first"));
+			log.append(bytes("second"));
+			log.force();
+
+			assertThat(string(log.peek())).isEqualTo("first");
+			assertThat(log.peek().endPosition()).isEqualTo(log.poll().endPosition());
+			assertThat(string(log.peek())).isEqualTo("second");
+			assertThat(readAll(log)).containsExactly("second");
+		}
+	}
+
+	@Test
+	void refusesAppendsBeyondMaxBytes() throws IOException {
+		int recordBytes = MappedOverflowLog.RECORD_HEADER_BYTES + "record".length();
+		try (MappedOverflowLog log = new MappedOverflowLog(directory, SEGMENT_SIZE, 2 * recordBytes)) {
+			assertThat(log.append(bytes("record"))).isTrue();
+			assertThat(log.append(bytes("record"))).isTrue();
+			assertThat(log.append(bytes("record"))).isFalse();
+
+			log.commit(log.poll().endPosition());
+
+			assertThat(log.append(bytes("record"))).isTrue();
+		}
+	}
+
+	private List<Path> segmentFiles() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(file -> file.getFileName().toString().startsWith("segment-")).sorted().toList();
+		}
+	}
+
+	private static List<String> readAll(MappedOverflowLog log) {
+		List<String> read = new ArrayList<>();
+		for (MappedOverflowLog.Entry entry; (entry = log.poll()) != null;) {
+			read.add(string(entry));
+		}
+		return read;
+	}
+
+	private static byte[] bytes(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static String string(MappedOverflowLog.Entry entry) {
+		return new String(entry.payload(), StandardCharsets.UTF_8);
+	}
+}
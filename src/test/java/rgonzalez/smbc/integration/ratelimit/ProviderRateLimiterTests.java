@@ -0,0 +1,99 @@
+package rgonzalez.smbc.integration.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import rgonzalez.smbc.integration.config.ProviderRateLimitProperties;
+import rgonzalez.smbc.integration.service.VerificationSource;
+
+class ProviderRateLimiterTests {
+
+	private final List<Runnable> started = new CopyOnWriteArrayList<>();
+
+	private ProviderRateLimiter limiter;
+
+	@AfterEach
+	void stop() {
+		if (limiter != null && limiter.isRunning()) {
+			limiter.stop();
+		}
+	}
+
+	@Test
+	void rejectsCallsBeyondMaxQueuedPerSource() {
+		// Not started, so every call stays queued
+		limiter = limiter(started::add);
+
+		CompletableFuture<String> first = limiter.submit(VerificationSource.CONTACTS_TOPIC, () -> "first");
+		CompletableFuture<String> second = limiter.submit(VerificationSource.CONTACTS_TOPIC, () -> "second");
+		CompletableFuture<String> rejected = limiter.submit(VerificationSource.CONTACTS_TOPIC, () -> "rejected");
+		CompletableFuture<String> otherSource = limiter.submit(VerificationSource.REST, () -> "rest");
+
+		assertThat(first).isNotDone();
+		assertThat(second).isNotDone();
+		assertThat(rejected).isCompletedExceptionally();
+		assertThat(rejected.exceptionNow()).isInstanceOf(RejectedExecutionException.class);
+		assertThat(otherSource).isNotDone();
+		assertThat(limiter.hasCapacity(VerificationSource.CONTACTS_TOPIC)).isFalse();
+		assertThat(limiter.hasCapacity(VerificationSource.REST)).isTrue();
+	}
+
+	@Test
+	void stopRejectsQueuedAndLaterCalls() {
+		// The executor never runs the dispatched call, which keeps the only in-flight slot
+		limiter = limiter(started::add);
+		limiter.start();
+		CompletableFuture<String> dispatched = limiter.submit(VerificationSource.CONTACTS_TOPIC, () -> "dispatched");
+		CompletableFuture<String> queued = limiter.submit(VerificationSource.CONTACTS_TOPIC, () -> "queued");
+		awaitStarted(1);
+
+		limiter.stop();
+
+		assertThat(queued).isCompletedExceptionally();
+		assertThat(queued.exceptionNow()).isInstanceOf(RejectedExecutionException.class);
+		assertThat(limiter.submit(VerificationSource.REST, () -> "late")).isCompletedExceptionally();
+		assertThat(dispatched).isNotDone();
+		assertThat(limiter.isRunning()).isFalse();
+	}
+
+	@Test
+	void completesExceptionallyWhenTheCallThrowsAnError() {
+		limiter = limiter(Runnable::run);
+		limiter.start();
+
+		CompletableFuture<String> result = limiter.submit(VerificationSource.REST, () -> {
+			throw new StackOverflowError("provider client");
+		});
+
+		assertThat(result).failsWithin(Duration.ofSeconds(5))
+				.withThrowableThat()
+				.havingCause()
+				.isInstanceOf(StackOverflowError.class);
+	}
+
+	private static ProviderRateLimiter limiter(Executor executor) {
+		ProviderRateLimitProperties properties = new ProviderRateLimitProperties();
+		properties.setPermitsPerSecond(1_000);
+		properties.setMaxInFlight(1);
+		properties.setMaxQueued(2);
+		return new ProviderRateLimiter(properties, executor, new SimpleMeterRegistry());
+	}
+
+	private void awaitStarted(int count) {
+		long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+		while (started.size() < count && System.nanoTime() < deadline) {
+			Thread.onSpinWait();
+		}
+		assertThat(started).hasSize(count);
+	}
+}
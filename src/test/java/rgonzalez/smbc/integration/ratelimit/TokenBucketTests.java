@@ -0,0 +1,38 @@
+package rgonzalez.smbc.integration.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTests {
+
+	private static final long START = 1_000_000_000L;
+
+	@Test
+	void burstThenWaitForRefill() {
+		TokenBucket bucket = new TokenBucket(10, 2, START);
+
+		assertThat(bucket.tryTake(START)).isZero();
+		assertThat(bucket.tryTake(START)).isZero();
+		assertThat(bucket.tryTake(START)).isCloseTo(TimeUnit.MILLISECONDS.toNanos(100), within(1L));
+		assertThat(bucket.tryTake(START + TimeUnit.MILLISECONDS.toNanos(50)))
+				.isCloseTo(TimeUnit.MILLISECONDS.toNanos(50), within(1L));
+		assertThat(bucket.tryTake(START + TimeUnit.MILLISECONDS.toNanos(101))).isZero();
+	}
+
+	@Test
+	void idleRefillIsCappedAtCapacity() {
+		TokenBucket bucket = new TokenBucket(10, 2, START);
+		bucket.tryTake(START);
+		bucket.tryTake(START);
+
+		long later = START + TimeUnit.MINUTES.toNanos(1);
+
+		assertThat(bucket.tryTake(later)).isZero();
+		assertThat(bucket.tryTake(later)).isZero();
+		assertThat(bucket.tryTake(later)).isPositive();
+	}
+}
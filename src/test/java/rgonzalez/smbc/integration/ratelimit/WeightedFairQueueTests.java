@@ -0,0 +1,66 @@
+package rgonzalez.smbc.integration.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import rgonzalez.smbc.integration.service.VerificationSource;
+
+class WeightedFairQueueTests {
+
+	private static final Map<VerificationSource, Integer> WEIGHTS = Map.of(
+			VerificationSource.REST, 4,
+			VerificationSource.CONTACTS_TOPIC, 2,
+			VerificationSource.RECONCILIATION, 1);
+
+	@Test
+	void backloggedSourcesShareByWeight() {
+		WeightedFairQueue<VerificationSource> queue = new WeightedFairQueue<>(WEIGHTS::get, 1_000);
+		for (int i = 0; i < 100; i++) {
+			queue.offer(VerificationSource.CONTACTS_TOPIC, VerificationSource.CONTACTS_TOPIC);
+			queue.offer(VerificationSource.RECONCILIATION, VerificationSource.RECONCILIATION);
+		}
+
+		List<VerificationSource> taken = new ArrayList<>();
+		for (int i = 0; i < 30; i++) {
+			taken.add(queue.poll());
+		}
+
+		assertThat(taken).filteredOn(VerificationSource.CONTACTS_TOPIC::equals).hasSize(20);
+		assertThat(taken).filteredOn(VerificationSource.RECONCILIATION::equals).hasSize(10);
+	}
+
+	@Test
+	void idleSourceOvertakesBacklog() {
+		WeightedFairQueue<String> queue = new WeightedFairQueue<>(WEIGHTS::get, 1_000);
+		for (int i = 0; i < 100; i++) {
+			queue.offer(VerificationSource.CONTACTS_TOPIC, "bulk-" + i);
+		}
+		queue.poll();
+		queue.poll();
+
+		queue.offer(VerificationSource.REST, "interactive");
+
+		assertThat(queue.poll()).isEqualTo("interactive");
+		assertThat(queue.poll()).isEqualTo("bulk-2");
+	}
+
+	@Test
+	void sourceKeepsFifoOrderAndBound() {
+		WeightedFairQueue<String> queue = new WeightedFairQueue<>(WEIGHTS::get, 2);
+
+		assertThat(queue.offer(VerificationSource.REST, "first")).isTrue();
+		assertThat(queue.offer(VerificationSource.REST, "second")).isTrue();
+		assertThat(queue.offer(VerificationSource.REST, "third")).isFalse();
+		assertThat(queue.size(VerificationSource.REST)).isEqualTo(2);
+
+		assertThat(queue.poll()).isEqualTo("first");
+		assertThat(queue.poll()).isEqualTo("second");
+		assertThat(queue.poll()).isNull();
+		assertThat(queue.isEmpty()).isTrue();
+	}
+}
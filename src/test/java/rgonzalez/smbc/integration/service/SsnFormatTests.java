@@ -0,0 +1,27 @@
+package rgonzalez.smbc.integration.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class SsnFormatTests {
+
+	private static final Pattern SSN_PATTERN = Pattern.compile("^\\d{3}-\\d{2}-\\d{4}$");
+
+	@ParameterizedTest
+	@ValueSource(strings = { "123-45-6789", "000-00-0000", "123456789", "123-456-789", "12-345-6789",
+			"123-45-678", "123-45-67890", "123-45-678a", "a23-45-6789", "123 45 6789", "123-45-6789\n",
+			"١٢٣-٤٥-٦٧٨٩", "" })
+	void agreesWithRegex(String ssn) {
+		assertThat(SsnFormat.isValid(ssn)).isEqualTo(SSN_PATTERN.matcher(ssn).matches());
+	}
+
+	@Test
+	void rejectsNull() {
+		assertThat(SsnFormat.isValid(null)).isFalse();
+	}
+}
@@ -0,0 +1,45 @@
+package rgonzalez.smbc.integration.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+class PgBinaryCopyWriterTests {
+
+	@Test
+	void writesHeaderTuplesAndTrailer() throws IOException {
+		ByteArrayOutputStream target = new ByteArrayOutputStream();
+		try (PgBinaryCopyWriter writer = new PgBinaryCopyWriter(target)) {
+			writer.startRow(4);
+			writer.writeLong(7L);
+			writer.writeText("é");
+			writer.writeNull();
+			writer.writeTimestamp(LocalDateTime.of(2000, 1, 1, 0, 0, 1));
+		}
+
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(target.toByteArray()));
+		byte[] signature = new byte[11];
+		in.readFully(signature);
+		assertThat(new String(signature, 0, 5)).isEqualTo("PGCOP");
+		assertThat(in.readInt()).isZero();
+		assertThat(in.readInt()).isZero();
+
+		assertThat(in.readShort()).isEqualTo((short) 4);
+		assertThat(in.readInt()).isEqualTo(8);
+		assertThat(in.readLong()).isEqualTo(7L);
+		assertThat(in.readInt()).isEqualTo(2);
+		in.skipNBytes(2);
+		assertThat(in.readInt()).isEqualTo(-1);
+		assertThat(in.readInt()).isEqualTo(8);
+		assertThat(in.readLong()).isEqualTo(1_000_000L);
+
+		assertThat(in.readShort()).isEqualTo((short) -1);
+		assertThat(in.available()).isZero();
+	}
+}
@@ -0,0 +1,54 @@
+package rgonzalez.smbc.integration.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+class CorrelationContextTests {
+
+	@AfterEach
+	void clearMdc() {
+		MDC.clear();
+	}
+
+	@Test
+	void wrappedTaskRunsWithSubmitterCorrelationId() {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			CompletableFuture<String> seen;
+			try (CorrelationContext.Scope correlation = CorrelationContext.open("journey-1")) {
+				seen = CompletableFuture.supplyAsync(CorrelationContext.wrap(CorrelationContext::current), executor);
+			}
+
+			assertThat(seen.join()).isEqualTo("journey-1");
+			assertThat(CompletableFuture.supplyAsync(CorrelationContext::current, executor).join()).isNull();
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void scopeRestoresPreviousCorrelationId() {
+		try (CorrelationContext.Scope outer = CorrelationContext.open("outer")) {
+			try (CorrelationContext.Scope inner = CorrelationContext.open("inner")) {
+				assertThat(CorrelationContext.current()).isEqualTo("inner");
+			}
+			assertThat(CorrelationContext.current()).isEqualTo("outer");
+		}
+		assertThat(CorrelationContext.current()).isNull();
+	}
+
+	@Test
+	void generatesCorrelationIdWhenMissing() {
+		try (CorrelationContext.Scope correlation = CorrelationContext.open(null)) {
+			assertThat(CorrelationContext.current()).isNotBlank();
+		}
+	}
+}